@@ -0,0 +1,70 @@
+package com.courier.config;
+
+import java.security.Principal;
+
+/**
+ * Principal built straight from the claims of a verified JWT.
+ *
+ * The token already carries everything a request needs (email, user id and role),
+ * so the filter uses this instead of loading the customer row on every call.
+ */
+public class AuthenticatedUser implements Principal {
+
+    private final String email;
+    private final Long userId;
+    private final String role;
+    private final String tokenId;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+
+    public AuthenticatedUser(String email, Long userId, String role,
+                             String tokenId, long issuedAtMillis, long expiresAtMillis) {
+        this.email = email;
+        this.userId = userId;
+        this.role = role;
+        this.tokenId = tokenId;
+        this.issuedAtMillis = issuedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * @return The token's "jti" claim, or null for tokens issued before it was added
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean hasRole(String expectedRole) {
+        return expectedRole.equals(role);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{email='" + email + "', userId=" + userId + ", role='" + role + "'}";
+    }
+}
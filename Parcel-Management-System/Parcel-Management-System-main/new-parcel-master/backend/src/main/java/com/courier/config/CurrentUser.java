@@ -0,0 +1,21 @@
+package com.courier.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller parameter that should receive the {@link AuthenticatedUser}
+ * resolved by {@link JwtAuthenticationFilter} for the current request.
+ *
+ * The token is parsed once by the filter; controllers never touch the raw header.
+ * When {@code required} is true and the request carries no valid token, the call
+ * is rejected with 401 before the controller runs.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+
+    boolean required() default true;
+}
@@ -0,0 +1,30 @@
+package com.courier.config;
+
+import com.courier.util.IdGenerator;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies id.node-id to the static IdGenerator. Entities generate IDs in their JPA
+ * lifecycle callbacks, where no Spring beans are injected, which is why the generator
+ * itself is static. Every instance behind the same database needs a distinct node id.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    @Value("${id.node-id:-1}")
+    private long nodeId;
+
+    @PostConstruct
+    void init() {
+        if (nodeId >= 0) {
+            IdGenerator.setNodeId(nodeId);
+        }
+        log.info("ID generator node id {}", IdGenerator.getNodeId());
+    }
+}
@@ -1,73 +1,107 @@
 package com.courier.config;
 
-import com.courier.service.CustomUserDetailsService;
+import com.courier.service.TokenRevocationService;
 import com.courier.util.JwtUtil;
+import com.courier.util.LogSampler;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    // Runs on every request, so per-request debug lines are sampled
+    private static final LogSampler DEBUG_SAMPLER = new LogSampler(100);
+
+    /**
+     * Request attribute holding the {@link AuthenticatedUser} parsed from the token,
+     * read by {@link CurrentUserArgumentResolver}
+     */
+    public static final String AUTHENTICATED_USER_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    private static final String STREAM_PATH_SUFFIX = "/stream";
+    private static final String ACCESS_TOKEN_PARAMETER = "access_token";
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
-        System.out.println("=== JWT Filter Debug ===");
-        System.out.println("Request URI: " + request.getRequestURI());
-        
-        final String authorizationHeader = request.getHeader("Authorization");
-        System.out.println("Authorization Header: " + authorizationHeader);
 
-        String username = null;
-        String jwt = null;
+        final String jwt = tokenFrom(request);
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            System.out.println("JWT Token: " + jwt.substring(0, Math.min(jwt.length(), 50)) + "...");
-            
-            try {
-                username = jwtUtil.extractUsername(jwt);
-                System.out.println("Extracted Email: " + username);
-            } catch (Exception e) {
-                System.err.println("Error extracting username from JWT: " + e.getMessage());
-            }
-        } else {
-            System.out.println("No Bearer token found");
-        }
+        if (jwt != null && !isAuthenticated()) {
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            // The signed claims are the principal; no customer lookup per request
+            AuthenticatedUser user = jwtUtil.toAuthenticatedUser(jwt);
+            if (user != null && user.getEmail() != null && !tokenRevocationService.isRevoked(user)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
+                    user, null, authoritiesFor(user));
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                System.out.println("Authentication set successfully for user: " + username);
+                request.setAttribute(AUTHENTICATED_USER_ATTRIBUTE, user);
+                if (log.isDebugEnabled() && DEBUG_SAMPLER.sample()) {
+                    log.debug("Authenticated {} for {}", user.getEmail(), request.getRequestURI());
+                }
             } else {
-                System.out.println("JWT validation failed for user: " + username);
+                log.debug("Rejected invalid, expired or revoked token for {}", request.getRequestURI());
             }
-        } else {
-            System.out.println("Email is null or authentication already exists");
         }
 
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Bearer token from the Authorization header. Event streams may pass it as
+     * ?access_token= instead, because EventSource cannot set headers; no other
+     * path accepts a token in the URL, where it could end up in logs.
+     */
+    private String tokenFrom(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            return authorizationHeader.substring(7);
+        }
+        if (request.getRequestURI().endsWith(STREAM_PATH_SUFFIX)) {
+            String accessToken = request.getParameter(ACCESS_TOKEN_PARAMETER);
+            if (accessToken != null && !accessToken.isEmpty()) {
+                return accessToken;
+            }
+        }
+        return null;
+    }
+
+    private boolean isAuthenticated() {
+        Authentication existing = SecurityContextHolder.getContext().getAuthentication();
+        return existing != null && !(existing instanceof AnonymousAuthenticationToken);
+    }
+
+    private List<GrantedAuthority> authoritiesFor(AuthenticatedUser user) {
+        if (user.getRole() == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.courier.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled housekeeping tasks (expiring revoked tokens and similar).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
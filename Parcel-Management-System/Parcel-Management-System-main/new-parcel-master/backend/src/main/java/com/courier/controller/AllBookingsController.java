@@ -2,6 +2,8 @@ package com.courier.controller;
 
 import com.courier.dto.BookingPage;
 import com.courier.service.BookingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,27 +13,42 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "http://localhost:4200")
 public class AllBookingsController {
 
+    private static final Logger log = LoggerFactory.getLogger(AllBookingsController.class);
+
     @Autowired
     private BookingService bookingService;
 
     @GetMapping
     public ResponseEntity<BookingPage> getAllBookings(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean slice) {
         try {
-            System.out.println("=== All Bookings Request ===");
-            System.out.println("Page: " + page + ", Size: " + size);
+            log.debug("Page: {}, Size: {}, Cursor: {}, Slice: {}", page, size, cursor, slice);
 
-            BookingPage bookings = bookingService.getAllBookingsPaginated(page, size);
+            // A cursor parameter (empty for the first page) switches to keyset paging;
+            // slice=true keeps page numbers but skips the COUNT (totals are approximate)
+            BookingPage bookings;
+            if (cursor != null) {
+                bookings = bookingService.getAllBookingsAfterCursor(cursor, size);
+            } else if (slice) {
+                bookings = bookingService.getAllBookingsSlice(page, size);
+            } else {
+                bookings = bookingService.getAllBookingsPaginated(page, size);
+            }
             
-            System.out.println("Found " + bookings.getContent().size() + " bookings");
-            System.out.println("Total elements: " + bookings.getTotalElements());
+            log.debug("Found {} bookings", bookings.getContent().size());
+            log.debug("Total elements: {}", bookings.getTotalElements());
             
             return ResponseEntity.ok(bookings);
             
+        } catch (IllegalArgumentException e) {
+            // Bad cursor or search filter from the client
+            log.debug("Rejected all bookings request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
-            System.out.println("Error in all bookings: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in all bookings", e);
             return ResponseEntity.badRequest().build();
         }
     }
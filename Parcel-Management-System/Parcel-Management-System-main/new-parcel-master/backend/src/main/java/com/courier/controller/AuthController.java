@@ -1,16 +1,23 @@
 package com.courier.controller;
 
+import com.courier.config.AuthenticatedUser;
+import com.courier.config.CurrentUser;
 import com.courier.dto.AuthResponse;
 import com.courier.dto.LoginRequest;
 import com.courier.dto.RegisterRequest;
 import com.courier.dto.PasswordChangeRequest;
 import com.courier.dto.PasswordChangeResponse;
 import com.courier.service.AuthService;
-import com.courier.util.JwtUtil;
+import com.courier.service.TokenRevocationService;
+import com.courier.util.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 
@@ -43,6 +50,8 @@ import java.util.Map;
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:4200")
 public class AuthController {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
     
     /**
      * Service for authentication business logic
@@ -52,11 +61,18 @@ public class AuthController {
     private AuthService authService;
     
     /**
-     * Utility for JWT token operations
-     * Extracts user information from JWT tokens
+     * Token-bucket limiter for login and registration attempts
+     * Checked before any password hashing happens
+     */
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    /**
+     * Revocation list for issued JWTs
+     * Used by logout to invalidate the caller's token
      */
     @Autowired
-    private JwtUtil jwtUtil;
+    private TokenRevocationService tokenRevocationService;
     
     /**
      * Register a new user (customer or officer)
@@ -71,10 +87,17 @@ public class AuthController {
      * 4. Returns appropriate HTTP status code based on result
      * 
      * @param request Registration data (name, email, password, etc.)
+     * @param httpRequest Raw HTTP request, used for the client address in rate limiting
      * @return ResponseEntity with registration result and user details
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request,
+                                                 HttpServletRequest httpRequest) {
+        String throttled = checkAttempt(httpRequest, request.getEmail());
+        if (throttled != null) {
+            return tooManyAttempts(throttled);
+        }
+        
         // Call service to handle registration
         AuthResponse response = authService.register(request);
         
@@ -106,10 +129,17 @@ public class AuthController {
      * 4. Returns JWT token and user details on success
      * 
      * @param request Login credentials (unique ID and password)
+     * @param httpRequest Raw HTTP request, used for the client address in rate limiting
      * @return ResponseEntity with authentication result and user details
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
+        String throttled = checkAttempt(httpRequest, request.getEmail());
+        if (throttled != null) {
+            return tooManyAttempts(throttled);
+        }
+        
         // Call service to handle customer login
         AuthResponse response = authService.login(request);
         
@@ -135,10 +165,17 @@ public class AuthController {
      * 4. Returns JWT token and user details on success
      * 
      * @param request Login credentials (unique ID and password)
+     * @param httpRequest Raw HTTP request, used for the client address in rate limiting
      * @return ResponseEntity with authentication result and user details
      */
     @PostMapping("/officer-login")
-    public ResponseEntity<AuthResponse> officerLogin(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> officerLogin(@Valid @RequestBody LoginRequest request,
+                                                     HttpServletRequest httpRequest) {
+        String throttled = checkAttempt(httpRequest, request.getEmail());
+        if (throttled != null) {
+            return tooManyAttempts(throttled);
+        }
+        
         // Call service to handle officer login
         AuthResponse response = authService.officerLogin(request);
         
@@ -159,36 +196,31 @@ public class AuthController {
      * 
      * This endpoint:
      * 1. Receives password change request from frontend
-     * 2. Extracts user ID from JWT token in Authorization header
+     * 2. Takes the user ID from the authenticated request context
      * 3. Validates current password and new password
      * 4. Updates password in database
      * 5. Returns success/failure response
      * 
      * @param request Password change data (current, new, confirm passwords)
-     * @param token JWT token from Authorization header
+     * @param user Authenticated user resolved from the JWT by the filter
      * @return ResponseEntity with password change result
      */
     @PostMapping("/change-password")
     public ResponseEntity<PasswordChangeResponse> changePassword(
             @RequestBody PasswordChangeRequest request,
-            @RequestHeader("Authorization") String token) {
+            @CurrentUser AuthenticatedUser user) {
         
         try {
             // Debug logging for troubleshooting
-            System.out.println("=== Password Change Debug ===");
-            System.out.println("Password change request received");
-            System.out.println("Token: " + token);
+            log.debug("Password change request received");
             
-            // Extract user ID from JWT token
-            // Remove "Bearer " prefix from token
-            String jwt = token.substring(7);
-            Long userId = jwtUtil.extractUserId(jwt);
+            Long userId = user.getUserId();
             
-            System.out.println("User ID from token: " + userId);
+            log.debug("User ID from token: {}", userId);
             
             // Validate password confirmation
             if (request.getNewPassword() == null || !request.getNewPassword().equals(request.getConfirmPassword())) {
-                System.out.println("Password confirmation mismatch");
+                log.warn("Password confirmation mismatch");
                 return ResponseEntity.badRequest()
                         .body(new PasswordChangeResponse(false, "New password and confirm password do not match"));
             }
@@ -196,9 +228,11 @@ public class AuthController {
             // Call service to handle password change
             PasswordChangeResponse response = authService.changePassword(userId, request);
             
-            System.out.println("Password change response: " + response.isSuccess() + " - " + response.getMessage());
+            log.debug("Password change response: {} - {}", response.isSuccess(), response.getMessage());
             
             if (response.isSuccess()) {
+                // The per-user cut-off is whole seconds; make sure this session ends too
+                tokenRevocationService.revokeToken(user);
                 // Return 200 OK for successful password change
                 return ResponseEntity.ok(response);
             } else {
@@ -206,13 +240,64 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(response);
             }
             
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             // Log error and return 500 Internal Server Error
-            System.err.println("Error in password change endpoint: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in password change endpoint", e);
             return ResponseEntity.status(500)
                     .body(new PasswordChangeResponse(false, "Internal server error: " + e.getMessage()));
         }
     }
-}
- 
\ No newline at end of file
+
+    /**
+     * Log out the current session
+     * 
+     * HTTP Method: POST
+     * URL: /api/auth/logout
+     * 
+     * Revokes the caller's token so it is rejected until it would have expired.
+     * 
+     * @param user Authenticated user resolved from the JWT by the filter
+     * @return ResponseEntity confirming the logout
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, Object>> logout(@CurrentUser AuthenticatedUser user) {
+        tokenRevocationService.revokeToken(user);
+        return ResponseEntity.ok(Map.of("success", true, "message", "Logged out successfully"));
+    }
+    
+    /**
+     * Apply the rate limit to the client IP, and to the submitted identifier (the
+     * login or registration email) across all addresses. The IP bucket stops one
+     * address from hammering many accounts; the identifier bucket stops many addresses
+     * from hammering one account. The identifier bucket is looser, so an account owner
+     * retrying a mistyped password rarely hits it.
+     * 
+     * @param httpRequest Current HTTP request (for the client address)
+     * @param identifier Email from the request body
+     * @return null if the attempt may proceed, otherwise the key of the exhausted bucket
+     */
+    private String checkAttempt(HttpServletRequest httpRequest, String identifier) {
+        String ipKey = RateLimiter.ipKey(httpRequest.getRemoteAddr());
+        if (!rateLimiter.tryAcquire(ipKey)) {
+            return ipKey;
+        }
+        if (identifier == null) {
+            return null;
+        }
+        String idKey = RateLimiter.identifierKey(identifier);
+        return rateLimiter.tryAcquire(idKey) ? null : idKey;
+    }
+    
+    /**
+     * Build the 429 Too Many Requests response for throttled attempts
+     * 
+     * @param key Rate limit key whose bucket is empty; Retry-After follows its refill
+     */
+    private ResponseEntity<AuthResponse> tooManyAttempts(String key) {
+        return ResponseEntity.status(429)
+                .header("Retry-After", String.valueOf(rateLimiter.retryAfterSeconds(key)))
+                .body(new AuthResponse(false, "Too many attempts. Please try again later.", null, null, null, null, null, null, null, null, null));
+    }
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.courier.controller;
 
+import com.courier.config.AuthenticatedUser;
+import com.courier.config.CurrentUser;
+import com.courier.dto.BookingImportReport;
 import com.courier.dto.BookingRequest;
 import com.courier.dto.BookingResponse;
 import com.courier.dto.BookingPage;
@@ -7,13 +10,20 @@ import com.courier.model.Booking;
 import com.courier.model.Customer;
 import com.courier.model.ParcelStatus;
 import com.courier.service.AuthService;
+import com.courier.service.BookingImportService;
 import com.courier.service.BookingService;
+import com.courier.service.IdempotencyService;
 import com.courier.util.CostCalculator;
-import com.courier.util.JwtUtil;
+import com.courier.util.IdGenerator;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.multipart.MultipartFile;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -25,38 +35,37 @@ import java.util.ArrayList;
 @CrossOrigin(origins = "http://localhost:4200")
 public class BookingController {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingController.class);
+
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingImportService bookingImportService;
+
     @Autowired
     private AuthService authService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private IdempotencyService idempotencyService;
 
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody BookingRequest request,
-                                                       @RequestHeader("Authorization") String token) {
+                                                       @CurrentUser AuthenticatedUser user,
+                                                       @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /api/bookings|" + user.getUserId(), idempotencyKey, request,
+            BookingResponse.class, () -> createCustomerBooking(request, user));
+    }
+
+    private ResponseEntity<BookingResponse> createCustomerBooking(BookingRequest request, AuthenticatedUser user) {
         try {
-            // Extract customer ID from JWT token
-            String email = jwtUtil.extractEmail(token.replace("Bearer ", ""));
-            String role = jwtUtil.extractRole(token.replace("Bearer ", ""));
-            Long userId = jwtUtil.extractUserId(token.replace("Bearer ", ""));
-            
             // Check if this is a customer booking
-            if (!"CUSTOMER".equals(role)) {
+            if (!user.hasRole("CUSTOMER")) {
                 return ResponseEntity.badRequest()
                     .body(new BookingResponse(false, "Only customers can create bookings", null));
             }
             
-            // Try to find customer by email first, then by unique ID
-            Customer customer = authService.getCustomerByEmail(email);
-            if (customer == null) {
-                // Try to find by unique ID if email lookup fails
-                // For now, we'll use the email as unique ID since the JWT contains email
-                // In a real scenario, we'd need to extract unique ID from JWT or modify the token structure
-                customer = authService.getCustomerByEmail(email);
-            }
+            Customer customer = authService.getCustomerByEmail(user.getEmail());
             
             if (customer == null) {
                 return ResponseEntity.badRequest()
@@ -87,12 +96,12 @@ public class BookingController {
             booking.setParcelPaymentTime(LocalDateTime.now());
             booking.setParcelStatus(ParcelStatus.NEW);
             
-            // Note: bookingId is auto-generated in the Booking constructor
+            // Note: bookingId is generated when the booking is first saved
             // No need to set it manually
 
-            System.out.println("Booking object created, saving...");
+            log.debug("Booking object created, saving...");
             Booking savedBooking = bookingService.createBooking(booking);
-            System.out.println("Booking saved successfully with ID: " + savedBooking.getBookingId());
+            log.debug("Booking saved successfully with ID: {}", savedBooking.getBookingId());
             
             BookingResponse response = new BookingResponse(
                 true,
@@ -100,37 +109,31 @@ public class BookingController {
                 savedBooking
             );
             
-            System.out.println("=== Booking Request Completed Successfully ===");
             return ResponseEntity.ok(response);
             
-        } catch (Exception e) {
-            System.out.println("=== Booking Request Failed ===");
-            System.out.println("Error: " + e.getMessage());
-            e.printStackTrace();
+        } catch (IllegalArgumentException e) {
+            log.debug("Booking request rejected: {}", e.getMessage());
             return ResponseEntity.badRequest().body(new BookingResponse(false, "Booking failed: " + e.getMessage(), null));
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            // A 5xx is not stored under the Idempotency-Key, so a retry with the same key can still succeed
+            log.error("Booking request failed", e);
+            return ResponseEntity.internalServerError().body(new BookingResponse(false, "Booking failed: " + e.getMessage(), null));
         }
     }
 
     @PostMapping("/officer")
     public ResponseEntity<BookingResponse> createOfficerBooking(@Valid @RequestBody BookingRequest request,
-                                                              @RequestHeader("Authorization") String token) {
+                                                              @CurrentUser AuthenticatedUser user) {
         try {
-            // Extract officer ID from JWT token
-            String email = jwtUtil.extractEmail(token.replace("Bearer ", ""));
-            String role = jwtUtil.extractRole(token.replace("Bearer ", ""));
-            Long userId = jwtUtil.extractUserId(token.replace("Bearer ", ""));
-            
             // Check if this is an officer booking
-            if (!"OFFICER".equals(role)) {
+            if (!user.hasRole("OFFICER")) {
                 return ResponseEntity.badRequest()
                     .body(new BookingResponse(false, "Only officers can create officer bookings", null));
             }
             
-            // Try to find officer by email first, then by unique ID
-            Customer officer = authService.getCustomerByEmail(email);
-            if (officer == null) {
-                officer = authService.getCustomerByEmail(email);
-            }
+            Customer officer = authService.getCustomerByEmail(user.getEmail());
             
             if (officer == null) {
                 return ResponseEntity.badRequest()
@@ -161,8 +164,7 @@ public class BookingController {
             booking.setParcelStatus(ParcelStatus.BOOKED);
             
             // Generate unique booking ID
-            String bookingId = "BK" + System.currentTimeMillis();
-            booking.setBookingId(bookingId);
+            booking.setBookingId(IdGenerator.next("BK"));
             
             // Save booking
             Booking savedBooking = bookingService.createBooking(booking);
@@ -174,24 +176,103 @@ public class BookingController {
                     .body(new BookingResponse(false, "Failed to create booking", null));
             }
             
+        } catch (IllegalArgumentException e) {
+            // Unpriceable parcel (amount out of range)
+            return ResponseEntity.badRequest()
+                .body(new BookingResponse(false, "Failed to create booking: " + e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(500)
                 .body(new BookingResponse(false, "Failed to create booking: " + e.getMessage(), null));
         }
     }
 
+    @PostMapping(value = "/officer/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BookingImportReport> importOfficerBookings(@RequestParam("file") MultipartFile file,
+                                                                     @CurrentUser AuthenticatedUser user) {
+        if (!user.hasRole("OFFICER")) {
+            return ResponseEntity.badRequest()
+                .body(new BookingImportReport(false, "Only officers can import bookings"));
+        }
+
+        Customer officer = authService.getCustomerByEmail(user.getEmail());
+        if (officer == null) {
+            return ResponseEntity.badRequest().body(new BookingImportReport(false, "Officer not found"));
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new BookingImportReport(false, "Uploaded file is empty"));
+        }
+
+        BookingImportReport report = bookingImportService.importBookings(file, officer);
+        log.info("Officer {} imported {} of {} rows from {}", officer.getId(),
+            report.getImportedRows(), report.getTotalRows(), file.getOriginalFilename());
+        return report.isSuccess() ? ResponseEntity.ok(report) : ResponseEntity.badRequest().body(report);
+    }
+
     @GetMapping("/officer")
     public ResponseEntity<BookingPage> getOfficerBookings(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean slice) {
         try {
-            BookingPage bookings = bookingService.getAllBookingsPaginated(page, size);
+            BookingPage bookings;
+            if (cursor != null) {
+                bookings = bookingService.getAllBookingsAfterCursor(cursor, size);
+            } else if (slice) {
+                bookings = bookingService.getAllBookingsSlice(page, size);
+            } else {
+                bookings = bookingService.getAllBookingsPaginated(page, size);
+            }
             return ResponseEntity.ok(bookings);
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected officer booking listing: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Officer-wide booking search by any part of a booking ID and/or status
+     */
+    @GetMapping("/officer/search")
+    public ResponseEntity<BookingPage> searchOfficerBookings(
+            @RequestParam(required = false) String bookingId,
+            @RequestParam(required = false) ParcelStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @CurrentUser AuthenticatedUser user) {
+        if (!user.hasRole("OFFICER")) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(bookingService.searchBookings(null, bookingId, status, page, size));
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected booking search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Officer full-text search by receiver name, address, mobile or parcel contents, best matches first
+     */
+    @GetMapping("/officer/search/text")
+    public ResponseEntity<BookingPage> searchOfficerBookingsText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @CurrentUser AuthenticatedUser user) {
+        if (!user.hasRole("OFFICER")) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(bookingService.searchBookingText(q, page, size));
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected booking text search: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/list-all")
     public ResponseEntity<String> listAllBookings() {
         try {
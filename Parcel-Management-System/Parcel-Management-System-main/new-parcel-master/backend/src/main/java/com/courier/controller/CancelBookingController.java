@@ -1,12 +1,15 @@
 package com.courier.controller;
 
+import com.courier.config.AuthenticatedUser;
+import com.courier.config.CurrentUser;
 import com.courier.model.Booking;
 import com.courier.model.Customer;
 import com.courier.model.ParcelStatus;
 import com.courier.dto.CancelResponse;
 import com.courier.service.BookingService;
 import com.courier.service.AuthService;
-import com.courier.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,93 +19,89 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "http://localhost:4200")
 public class CancelBookingController {
 
+    private static final Logger log = LoggerFactory.getLogger(CancelBookingController.class);
+
     @Autowired
     private BookingService bookingService;
 
     @Autowired
     private AuthService authService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @PostMapping("/customer")
     public ResponseEntity<CancelResponse> cancelCustomerBooking(
             @RequestParam String bookingId,
-            @RequestHeader("Authorization") String token) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("=== Customer Cancellation Debug ===");
-            System.out.println("Booking ID: " + bookingId);
-            System.out.println("Token: " + token.substring(0, Math.min(token.length(), 50)) + "...");
+            log.debug("Booking ID: {}", bookingId);
             
-            String email = jwtUtil.extractEmail(token.replace("Bearer ", ""));
-            String role = jwtUtil.extractRole(token.replace("Bearer ", ""));
+            String email = user.getEmail();
+            String role = user.getRole();
             
-            System.out.println("Extracted email from token: " + email);
-            System.out.println("Extracted role from token: " + role);
+            log.debug("Extracted email from token: {}", email);
+            log.debug("Extracted role from token: {}", role);
             
             // Check if this is a customer request
             if (!"CUSTOMER".equals(role)) {
-                System.out.println("Access denied - token contains role: " + role + ", expected: CUSTOMER");
+                log.warn("Access denied - token contains role: {}, expected: CUSTOMER", role);
                 return ResponseEntity.badRequest()
                     .body(new CancelResponse(false, "Only customers can cancel customer bookings"));
             }
             
-            System.out.println("Role validation passed - proceeding with customer lookup");
+            log.debug("Role validation passed - proceeding with customer lookup");
             
             Customer customer = authService.getCustomerByEmail(email);
             
             if (customer == null) {
-                System.out.println("Customer not found for email: " + email);
+                log.debug("Customer not found for email: {}", email);
                 return ResponseEntity.badRequest()
                     .body(new CancelResponse(false, "Customer not found"));
             }
             
-            System.out.println("Found customer: " + customer.getCustomerName() + " (ID: " + customer.getId() + ")");
+            log.debug("Found customer: {} (ID: {})", customer.getCustomerName(), customer.getId());
 
             Booking booking = bookingService.getBookingById(bookingId);
             if (booking == null) {
-                System.out.println("Booking not found for ID: " + bookingId);
+                log.debug("Booking not found for ID: {}", bookingId);
                 return ResponseEntity.badRequest()
                     .body(new CancelResponse(false, "Booking not found"));
             }
             
-            System.out.println("Found booking: " + booking.getBookingId());
-            System.out.println("Booking customer ID: " + booking.getCustomer().getId());
-            System.out.println("Current status: " + booking.getParcelStatus());
+            log.debug("Found booking: {}", booking.getBookingId());
+            log.debug("Booking customer ID: {}", booking.getCustomer().getId());
+            log.debug("Current status: {}", booking.getParcelStatus());
 
             // Verify booking belongs to customer
             if (!booking.getCustomer().getId().equals(customer.getId())) {
-                System.out.println("Unauthorized access - booking belongs to customer ID: " + booking.getCustomer().getId() + ", but requesting customer ID: " + customer.getId());
+                log.warn("Unauthorized access - booking belongs to customer ID: {}, but requesting customer ID: {}", booking.getCustomer().getId(), customer.getId());
                 return ResponseEntity.badRequest()
                     .body(new CancelResponse(false, "Unauthorized access"));
             }
             
-            System.out.println("Authorization passed - checking booking status");
+            log.debug("Authorization passed - checking booking status");
 
             // Check if booking can be cancelled
             if (booking.getParcelStatus() != ParcelStatus.BOOKED) {
-                System.out.println("Booking cannot be cancelled - status is: " + booking.getParcelStatus());
+                log.warn("Booking cannot be cancelled - status is: {}", booking.getParcelStatus());
                 return ResponseEntity.badRequest()
                     .body(new CancelResponse(false, "Only booked parcels can be cancelled"));
             }
             
-            System.out.println("Status validation passed - updating booking");
+            log.debug("Status validation passed - updating booking");
 
             booking.setParcelStatus(ParcelStatus.CANCELLED);
             Booking updatedBooking = bookingService.updateBooking(booking);
             
             if (updatedBooking != null) {
-                System.out.println("Booking cancelled successfully");
+                log.debug("Booking cancelled successfully");
                 return ResponseEntity.ok(new CancelResponse(true, 
                     "Booking cancelled successfully. Booking ID: " + bookingId));
             } else {
-                System.out.println("Failed to update booking");
+                log.warn("Failed to update booking");
                 return ResponseEntity.status(500).body(new CancelResponse(false, "Failed to update booking"));
             }
             
         } catch (Exception e) {
-            System.err.println("Error in customer cancellation: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in customer cancellation", e);
             return ResponseEntity.status(500).body(new CancelResponse(false, "Cancellation failed: " + e.getMessage()));
         }
     }
@@ -110,36 +109,33 @@ public class CancelBookingController {
     @PostMapping("/officer")
     public ResponseEntity<CancelResponse> cancelOfficerBooking(
             @RequestParam String bookingId,
-            @RequestHeader("Authorization") String token) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("=== Officer Cancellation Debug ===");
-            System.out.println("Booking ID: " + bookingId);
-            System.out.println("Token: " + token.substring(0, Math.min(token.length(), 50)) + "...");
+            log.debug("Booking ID: {}", bookingId);
             
-            // Extract role from token
-            String role = jwtUtil.extractRole(token.replace("Bearer ", ""));
-            System.out.println("Extracted role from token: " + role);
+            String role = user.getRole();
+            log.debug("Extracted role from token: {}", role);
             
             if (!"OFFICER".equals(role)) {
-                System.out.println("Access denied - token contains role: " + role + ", expected: OFFICER");
+                log.warn("Access denied - token contains role: {}, expected: OFFICER", role);
                 return ResponseEntity.badRequest().body(new CancelResponse(false, "Only officers can cancel officer bookings"));
             }
             
-            System.out.println("Role validation passed - proceeding with cancellation");
+            log.debug("Role validation passed - proceeding with cancellation");
             
             // Get the booking
             Booking booking = bookingService.getBookingById(bookingId);
             if (booking == null) {
-                System.out.println("Booking not found for ID: " + bookingId);
+                log.debug("Booking not found for ID: {}", bookingId);
                 return ResponseEntity.badRequest().body(new CancelResponse(false, "Booking not found"));
             }
             
-            System.out.println("Found booking: " + booking.getBookingId());
-            System.out.println("Current status: " + booking.getParcelStatus());
+            log.debug("Found booking: {}", booking.getBookingId());
+            log.debug("Current status: {}", booking.getParcelStatus());
             
             // Check if booking can be cancelled
             if (booking.getParcelStatus() != ParcelStatus.BOOKED) {
-                System.out.println("Booking cannot be cancelled - status is: " + booking.getParcelStatus());
+                log.warn("Booking cannot be cancelled - status is: {}", booking.getParcelStatus());
                 return ResponseEntity.badRequest().body(new CancelResponse(false, "Only booked parcels can be cancelled"));
             }
             
@@ -148,16 +144,15 @@ public class CancelBookingController {
             Booking updatedBooking = bookingService.updateBooking(booking);
             
             if (updatedBooking != null) {
-                System.out.println("Booking cancelled successfully");
+                log.debug("Booking cancelled successfully");
                 return ResponseEntity.ok(new CancelResponse(true, "Booking cancelled successfully"));
             } else {
-                System.out.println("Failed to update booking");
+                log.warn("Failed to update booking");
                 return ResponseEntity.status(500).body(new CancelResponse(false, "Failed to update booking"));
             }
             
         } catch (Exception e) {
-            System.err.println("Error in officer cancellation: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in officer cancellation", e);
             return ResponseEntity.status(500).body(new CancelResponse(false, "Failed to cancel booking: " + e.getMessage()));
         }
     }
@@ -168,21 +163,18 @@ public class CancelBookingController {
     }
 
     @GetMapping("/test")
-    public ResponseEntity<String> testEndpoint(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<String> testEndpoint(@CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("=== Test Endpoint Debug ===");
-            System.out.println("Token: " + token.substring(0, Math.min(token.length(), 50)) + "...");
             
-            String role = jwtUtil.extractRole(token.replace("Bearer ", ""));
-            String email = jwtUtil.extractEmail(token.replace("Bearer ", ""));
+            String role = user.getRole();
+            String email = user.getEmail();
             
-            System.out.println("Extracted role: " + role);
-            System.out.println("Extracted email: " + email);
+            log.debug("Extracted role: {}", role);
+            log.debug("Extracted email: {}", email);
             
             return ResponseEntity.ok("Test successful. Role: " + role + ", Email: " + email);
         } catch (Exception e) {
-            System.err.println("Test endpoint error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Test endpoint error", e);
             return ResponseEntity.status(500).body("Test failed: " + e.getMessage());
         }
     }
@@ -1,8 +1,12 @@
 package com.courier.controller;
 
+import com.courier.dto.BookingDetails;
 import com.courier.model.Booking;
 import com.courier.model.ParcelStatus;
 import com.courier.service.BookingService;
+import com.courier.util.BookingETag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,36 +18,37 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:4200")
 public class DeliveryStatusController {
 
+    private static final Logger log = LoggerFactory.getLogger(DeliveryStatusController.class);
+
     @Autowired
     private BookingService bookingService;
 
     @PutMapping("/{bookingId}")
-    public ResponseEntity<Booking> updateDeliveryStatus(
+    public ResponseEntity<BookingDetails> updateDeliveryStatus(
             @PathVariable String bookingId,
             @RequestBody Map<String, String> request) {
         
-        System.out.println("=== Update Delivery Status ===");
-        System.out.println("Booking ID: " + bookingId);
-        System.out.println("New Status: " + request.get("status"));
+        log.debug("Booking ID: {}", bookingId);
+        log.debug("New Status: {}", request.get("status"));
         
         try {
             // First, let's check if the booking exists
-            System.out.println("Searching for booking with ID: " + bookingId);
+            log.debug("Searching for booking with ID: {}", bookingId);
             Booking booking = bookingService.getBookingById(bookingId);
             
             if (booking == null) {
-                System.out.println("Booking not found for ID: " + bookingId);
+                log.debug("Booking not found for ID: {}", bookingId);
                 return ResponseEntity.notFound().build();
             }
             
-            System.out.println("Found booking: " + booking.getBookingId());
-            System.out.println("Current status: " + booking.getParcelStatus());
+            log.debug("Found booking: {}", booking.getBookingId());
+            log.debug("Current status: {}", booking.getParcelStatus());
 
             String newStatus = request.get("status");
-            System.out.println("Requested new status: " + newStatus);
+            log.debug("Requested new status: {}", newStatus);
             
             if (newStatus == null || newStatus.isEmpty()) {
-                System.out.println("Status is null or empty");
+                log.debug("Status is null or empty");
                 return ResponseEntity.badRequest().build();
             }
             
@@ -53,41 +58,42 @@ public class DeliveryStatusController {
                 
                 Booking updatedBooking = bookingService.updateBooking(booking);
                 
-                System.out.println("Status updated successfully");
-                System.out.println("New status: " + updatedBooking.getParcelStatus());
+                log.debug("Status updated successfully");
+                log.debug("New status: {}", updatedBooking.getParcelStatus());
                 
-                return ResponseEntity.ok(updatedBooking);
+                return ResponseEntity.ok(BookingDetails.from(updatedBooking));
             } catch (IllegalArgumentException e) {
-                System.out.println("Invalid status: " + newStatus);
+                log.warn("Invalid status: {}", newStatus);
                 return ResponseEntity.badRequest().build();
             }
             
         } catch (Exception e) {
-            System.out.println("Error updating status: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating status", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Booking> getBookingById(@PathVariable String bookingId) {
+    public ResponseEntity<BookingDetails> getBookingById(@PathVariable String bookingId) {
         try {
-            System.out.println("=== Get Booking by ID ===");
-            System.out.println("Searching for booking ID: " + bookingId);
+            log.debug("Searching for booking ID: {}", bookingId);
             
             Booking booking = bookingService.getBookingById(bookingId);
             
             if (booking == null) {
-                System.out.println("Booking not found for ID: " + bookingId);
+                log.debug("Booking not found for ID: {}", bookingId);
                 return ResponseEntity.notFound().build();
             }
             
-            System.out.println("Found booking: " + booking.getBookingId());
-            return ResponseEntity.ok(booking);
+            log.debug("Found booking: {}", booking.getBookingId());
+            return ResponseEntity.ok()
+                .eTag(BookingETag.of(booking))
+                .lastModified(BookingETag.lastModified(booking))
+                .cacheControl(BookingETag.REVALIDATE)
+                .body(BookingDetails.from(booking));
             
         } catch (Exception e) {
-            System.out.println("Error getting booking: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error getting booking", e);
             return ResponseEntity.badRequest().build();
         }
     }
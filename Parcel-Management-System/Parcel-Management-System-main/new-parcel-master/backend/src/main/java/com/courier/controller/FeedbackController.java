@@ -1,5 +1,7 @@
 package com.courier.controller;
 
+import com.courier.config.AuthenticatedUser;
+import com.courier.config.CurrentUser;
 import com.courier.dto.FeedbackRequest;
 import com.courier.dto.FeedbackResponse;
 import com.courier.model.Booking;
@@ -9,8 +11,9 @@ import com.courier.model.ParcelStatus;
 import com.courier.service.BookingService;
 import com.courier.service.FeedbackService;
 import com.courier.service.AuthService;
-import com.courier.util.JwtUtil;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -24,6 +27,8 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:4200")
 public class FeedbackController {
 
+    private static final Logger log = LoggerFactory.getLogger(FeedbackController.class);
+
     @Autowired
     private FeedbackService feedbackService;
 
@@ -33,66 +38,61 @@ public class FeedbackController {
     @Autowired
     private AuthService authService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @PostMapping("/add")
     public ResponseEntity<FeedbackResponse> addFeedback(
             @Valid @RequestBody FeedbackRequest request,
-            @RequestHeader("Authorization") String token) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("=== Feedback Submission Debug ===");
-            System.out.println("Booking ID: " + request.getBookingId());
-            System.out.println("Description: " + request.getDescription());
-            System.out.println("Rating: " + request.getRating());
+            log.debug("Booking ID: {}", request.getBookingId());
+            log.debug("Description: {}", request.getDescription());
+            log.debug("Rating: {}", request.getRating());
             
-            String email = jwtUtil.extractEmail(token.replace("Bearer ", ""));
-            System.out.println("Customer Email: " + email);
+            String email = user.getEmail();
+            log.debug("Customer Email: {}", email);
             
             Customer customer = authService.getCustomerByEmail(email);
             
             if (customer == null) {
-                System.out.println("Customer not found for email: " + email);
+                log.debug("Customer not found for email: {}", email);
                 return ResponseEntity.badRequest()
                     .body(new FeedbackResponse(false, "Customer not found", null));
             }
             
-            System.out.println("Customer found: " + customer.getCustomerName());
+            log.debug("Customer found: {}", customer.getCustomerName());
 
             Booking booking = bookingService.getBookingById(request.getBookingId());
             if (booking == null) {
-                System.out.println("Booking not found for ID: " + request.getBookingId());
+                log.debug("Booking not found for ID: {}", request.getBookingId());
                 return ResponseEntity.badRequest()
                     .body(new FeedbackResponse(false, "Booking not found", null));
             }
             
-            System.out.println("Booking found: " + booking.getBookingId());
-            System.out.println("Booking status: " + booking.getParcelStatus());
-            System.out.println("Booking customer ID: " + booking.getCustomer().getId());
-            System.out.println("Requesting customer ID: " + customer.getId());
+            log.debug("Booking found: {}", booking.getBookingId());
+            log.debug("Booking status: {}", booking.getParcelStatus());
+            log.debug("Booking customer ID: {}", booking.getCustomer().getId());
+            log.debug("Requesting customer ID: {}", customer.getId());
 
             // Verify booking belongs to customer and is delivered
             if (!booking.getCustomer().getId().equals(customer.getId())) {
-                System.out.println("Unauthorized access - booking doesn't belong to customer");
+                log.warn("Unauthorized access - booking doesn't belong to customer");
                 return ResponseEntity.badRequest()
                     .body(new FeedbackResponse(false, "Unauthorized access", null));
             }
 
             if (booking.getParcelStatus() != ParcelStatus.DELIVERED) {
-                System.out.println("Booking is not delivered. Current status: " + booking.getParcelStatus());
+                log.debug("Booking is not delivered. Current status: {}", booking.getParcelStatus());
                 return ResponseEntity.badRequest()
                     .body(new FeedbackResponse(false, "Feedback can only be added for delivered parcels", null));
             }
 
-            System.out.println("All validations passed, adding feedback...");
+            log.debug("All validations passed, adding feedback...");
             Feedback feedback = feedbackService.addFeedback(customer, booking, request);
             
-            System.out.println("Feedback added successfully");
+            log.debug("Feedback added successfully");
             return ResponseEntity.ok(new FeedbackResponse(true, "Feedback added successfully", feedback));
             
         } catch (Exception e) {
-            System.out.println("Error in feedback submission: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in feedback submission", e);
             return ResponseEntity.badRequest()
                 .body(new FeedbackResponse(false, "Feedback failed: " + e.getMessage(), null));
         }
@@ -1,5 +1,7 @@
 package com.courier.controller;
 
+import com.courier.config.AuthenticatedUser;
+import com.courier.config.CurrentUser;
 import com.courier.dto.PaymentRequest;
 import com.courier.dto.PaymentResponse;
 import com.courier.dto.InvoiceResponse;
@@ -7,11 +9,15 @@ import com.courier.model.Booking;
 import com.courier.model.Payment;
 import com.courier.model.ParcelStatus;
 import com.courier.service.BookingService;
+import com.courier.service.IdempotencyService;
 import com.courier.service.PaymentService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import com.courier.model.DeliveryType;
 import com.courier.model.PackingPreference;
 
@@ -22,32 +28,40 @@ import java.math.BigDecimal;
 @CrossOrigin(origins = "http://localhost:4200")
 public class PaymentController {
 
+    private static final Logger log = LoggerFactory.getLogger(PaymentController.class);
+
     @Autowired
     private PaymentService paymentService;
 
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @PostMapping
-    public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody PaymentRequest request) {
-        System.out.println("=== Payment Request Debug ===");
-        System.out.println("Booking ID: " + request.getBookingId());
-        System.out.println("Card Number: " + request.getCardNumber());
-        System.out.println("Cardholder Name: " + request.getCardholderName());
-        System.out.println("Expiry Date: " + request.getExpiryDate());
-        System.out.println("CVV: " + request.getCvv());
+    public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody PaymentRequest request,
+                                                          @CurrentUser(required = false) AuthenticatedUser user,
+                                                          @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        // Scoped to the booking too, so a reused key can never replay another booking's payment
+        String scope = "POST /api/payments|" + (user != null ? user.getUserId() : "anonymous") + "|" + request.getBookingId();
+        return idempotencyService.execute(scope, idempotencyKey, request, PaymentResponse.class, () -> pay(request));
+    }
+
+    private ResponseEntity<PaymentResponse> pay(PaymentRequest request) {
+        log.debug("Booking ID: {}", request.getBookingId());
         
         try {
             // Validate booking exists
             Booking booking = bookingService.getBookingById(request.getBookingId());
             if (booking == null) {
-                System.out.println("Booking not found for ID: " + request.getBookingId());
+                log.debug("Booking not found for ID: {}", request.getBookingId());
                 return ResponseEntity.badRequest()
                     .body(new PaymentResponse(false, "Booking not found", null));
             }
 
-            System.out.println("Booking found: " + booking.getBookingId());
-            System.out.println("Booking amount: " + booking.getParcelServiceCost());
+            log.debug("Booking found: {}", booking.getBookingId());
+            log.debug("Booking amount: {}", booking.getParcelServiceCost());
 
             // Process payment
             Payment payment = paymentService.processPayment(booking, request);
@@ -62,32 +76,36 @@ public class PaymentController {
                 payment
             );
             
-            System.out.println("Payment processed successfully");
-            System.out.println("Payment ID: " + payment.getPaymentId());
-            System.out.println("Transaction ID: " + payment.getTransactionId());
+            log.debug("Payment processed successfully");
+            log.debug("Payment ID: {}", payment.getPaymentId());
+            log.debug("Transaction ID: {}", payment.getTransactionId());
             
             return ResponseEntity.ok(response);
             
-        } catch (Exception e) {
-            System.out.println("Payment error: " + e.getMessage());
-            e.printStackTrace();
+        } catch (IllegalArgumentException e) {
+            log.debug("Payment declined: {}", e.getMessage());
             return ResponseEntity.badRequest()
                 .body(new PaymentResponse(false, "Payment failed: " + e.getMessage(), null));
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            // A 5xx is not stored under the Idempotency-Key, so a retry with the same key can still succeed
+            log.error("Payment error", e);
+            return ResponseEntity.internalServerError()
+                .body(new PaymentResponse(false, "Payment failed: " + e.getMessage(), null));
         }
     }
 
     @GetMapping("/{bookingId}/invoice")
     public ResponseEntity<InvoiceResponse> generateInvoice(@PathVariable String bookingId) {
-        System.out.println("=== PaymentController.generateInvoice ===");
-        System.out.println("Request for invoice with booking ID: " + bookingId);
+        log.debug("Request for invoice with booking ID: {}", bookingId);
         
         try {
             InvoiceResponse invoice = paymentService.generateInvoice(bookingId);
-            System.out.println("Invoice generated successfully");
+            log.debug("Invoice generated successfully");
             return ResponseEntity.ok(invoice);
         } catch (Exception e) {
-            System.out.println("Invoice generation failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Invoice generation failed", e);
             return ResponseEntity.badRequest()
                 .body(new InvoiceResponse(false, "Invoice generation failed: " + e.getMessage(), null));
         }
@@ -1,7 +1,11 @@
 package com.courier.controller;
 
+import com.courier.dto.BookingDetails;
 import com.courier.model.Booking;
 import com.courier.service.BookingService;
+import com.courier.util.BookingETag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,44 +18,45 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:4200")
 public class PickupSchedulingController {
 
+    private static final Logger log = LoggerFactory.getLogger(PickupSchedulingController.class);
+
     @Autowired
     private BookingService bookingService;
 
     @PutMapping("/{bookingId}")
-    public ResponseEntity<Booking> updateSchedule(
+    public ResponseEntity<BookingDetails> updateSchedule(
             @PathVariable String bookingId,
             @RequestBody Map<String, String> request) {
         
-        System.out.println("=== Update Pickup Schedule ===");
-        System.out.println("Booking ID: " + bookingId);
-        System.out.println("Pickup DateTime: " + request.get("pickupDateTime"));
-        System.out.println("Drop DateTime: " + request.get("dropDateTime"));
+        log.debug("Booking ID: {}", bookingId);
+        log.debug("Pickup DateTime: {}", request.get("pickupDateTime"));
+        log.debug("Drop DateTime: {}", request.get("dropDateTime"));
         
         try {
             // First, let's check if the booking exists
-            System.out.println("Searching for booking with ID: " + bookingId);
+            log.debug("Searching for booking with ID: {}", bookingId);
             Booking booking = bookingService.getBookingById(bookingId);
             
             if (booking == null) {
-                System.out.println("Booking not found for ID: " + bookingId);
+                log.debug("Booking not found for ID: {}", bookingId);
                 return ResponseEntity.notFound().build();
             }
             
-            System.out.println("Found booking: " + booking.getBookingId());
-            System.out.println("Current pickup time: " + booking.getParcelPickupTime());
-            System.out.println("Current drop time: " + booking.getParcelDropoffTime());
+            log.debug("Found booking: {}", booking.getBookingId());
+            log.debug("Current pickup time: {}", booking.getParcelPickupTime());
+            log.debug("Current drop time: {}", booking.getParcelDropoffTime());
 
             // Parse datetime strings
             String pickupDateTimeStr = request.get("pickupDateTime");
             String dropDateTimeStr = request.get("dropDateTime");
             
             if (pickupDateTimeStr == null || dropDateTimeStr == null) {
-                System.out.println("Pickup or drop datetime is null");
+                log.debug("Pickup or drop datetime is null");
                 return ResponseEntity.badRequest().build();
             }
             
-            System.out.println("Parsing pickup datetime: " + pickupDateTimeStr);
-            System.out.println("Parsing drop datetime: " + dropDateTimeStr);
+            log.debug("Parsing pickup datetime: {}", pickupDateTimeStr);
+            log.debug("Parsing drop datetime: {}", dropDateTimeStr);
             
             try {
                 // Handle different datetime formats
@@ -68,52 +73,53 @@ public class PickupSchedulingController {
                     dropDateTime = LocalDateTime.parse(dropDateTimeStr.replace(" ", "T"));
                 }
                 
-                System.out.println("Parsed pickup datetime: " + pickupDateTime);
-                System.out.println("Parsed drop datetime: " + dropDateTime);
+                log.debug("Parsed pickup datetime: {}", pickupDateTime);
+                log.debug("Parsed drop datetime: {}", dropDateTime);
                 
                 booking.setParcelPickupTime(pickupDateTime);
                 booking.setParcelDropoffTime(dropDateTime);
                 
                 Booking updatedBooking = bookingService.updateBooking(booking);
                 
-                System.out.println("Schedule updated successfully");
-                System.out.println("New pickup time: " + updatedBooking.getParcelPickupTime());
-                System.out.println("New drop time: " + updatedBooking.getParcelDropoffTime());
+                log.debug("Schedule updated successfully");
+                log.debug("New pickup time: {}", updatedBooking.getParcelPickupTime());
+                log.debug("New drop time: {}", updatedBooking.getParcelDropoffTime());
                 
-                return ResponseEntity.ok(updatedBooking);
+                return ResponseEntity.ok(BookingDetails.from(updatedBooking));
             } catch (Exception e) {
-                System.out.println("Error parsing datetime: " + e.getMessage());
-                System.out.println("Pickup datetime string: " + pickupDateTimeStr);
-                System.out.println("Drop datetime string: " + dropDateTimeStr);
+                log.warn("Error parsing datetime: {}", e.getMessage());
+                log.debug("Pickup datetime string: {}", pickupDateTimeStr);
+                log.debug("Drop datetime string: {}", dropDateTimeStr);
                 return ResponseEntity.badRequest().build();
             }
             
         } catch (Exception e) {
-            System.out.println("Error updating schedule: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating schedule", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Booking> getBookingById(@PathVariable String bookingId) {
+    public ResponseEntity<BookingDetails> getBookingById(@PathVariable String bookingId) {
         try {
-            System.out.println("=== Get Booking by ID (Pickup Scheduling) ===");
-            System.out.println("Searching for booking ID: " + bookingId);
+            log.debug("Searching for booking ID: {}", bookingId);
             
             Booking booking = bookingService.getBookingById(bookingId);
             
             if (booking == null) {
-                System.out.println("Booking not found for ID: " + bookingId);
+                log.debug("Booking not found for ID: {}", bookingId);
                 return ResponseEntity.notFound().build();
             }
             
-            System.out.println("Found booking: " + booking.getBookingId());
-            return ResponseEntity.ok(booking);
+            log.debug("Found booking: {}", booking.getBookingId());
+            return ResponseEntity.ok()
+                .eTag(BookingETag.of(booking))
+                .lastModified(BookingETag.lastModified(booking))
+                .cacheControl(BookingETag.REVALIDATE)
+                .body(BookingDetails.from(booking));
             
         } catch (Exception e) {
-            System.out.println("Error getting booking: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error getting booking", e);
             return ResponseEntity.badRequest().build();
         }
     }
@@ -1,10 +1,14 @@
 package com.courier.controller;
 
+import com.courier.config.AuthenticatedUser;
+import com.courier.config.CurrentUser;
 import com.courier.dto.BookingPage;
 import com.courier.model.Customer;
+import com.courier.model.ParcelStatus;
 import com.courier.service.BookingService;
 import com.courier.service.AuthService;
-import com.courier.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,54 +18,65 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "http://localhost:4200")
 public class PreviousBookingsController {
 
+    private static final Logger log = LoggerFactory.getLogger(PreviousBookingsController.class);
+
     @Autowired
     private BookingService bookingService;
 
     @Autowired
     private AuthService authService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @GetMapping
     public ResponseEntity<BookingPage> getCustomerBookings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestHeader("Authorization") String token) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean slice,
+            @RequestParam(required = false) String bookingId,
+            @RequestParam(required = false) ParcelStatus status,
+            @CurrentUser AuthenticatedUser user) {
         try {
-            String email = jwtUtil.extractEmail(token.replace("Bearer ", ""));
-            Customer customer = authService.getCustomerByEmail(email);
+            Customer customer = authService.getCustomerByEmail(user.getEmail());
             
             if (customer == null) {
                 return ResponseEntity.badRequest().build();
             }
 
-            System.out.println("=== Previous Bookings Request ===");
-            System.out.println("Customer ID: " + customer.getId());
-            System.out.println("Page: " + page + ", Size: " + size);
+            log.debug("Customer ID: {}", customer.getId());
+            log.debug("Page: {}, Size: {}", page, size);
 
-            BookingPage bookings = bookingService.getCustomerBookingsPaginated(
-                customer.getId(), page, size);
+            BookingPage bookings;
+            if (bookingId != null || status != null) {
+                bookings = bookingService.searchBookings(customer.getId(), bookingId, status, page, size);
+            } else if (cursor != null) {
+                bookings = bookingService.getCustomerBookingsAfterCursor(customer.getId(), cursor, size);
+            } else if (slice) {
+                bookings = bookingService.getCustomerBookingsSlice(customer.getId(), page, size);
+            } else {
+                bookings = bookingService.getCustomerBookingsPaginated(customer.getId(), page, size);
+            }
             
-            System.out.println("Found " + bookings.getContent().size() + " bookings");
-            System.out.println("Total elements: " + bookings.getTotalElements());
+            log.debug("Found {} bookings", bookings.getContent().size());
+            log.debug("Total elements: {}", bookings.getTotalElements());
             
             return ResponseEntity.ok(bookings);
             
+        } catch (IllegalArgumentException e) {
+            // Bad cursor or search filter from the client
+            log.debug("Rejected previous bookings request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
-            System.out.println("Error in previous bookings: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in previous bookings", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/export")
     public ResponseEntity<byte[]> exportBookings(
-            @RequestHeader("Authorization") String token,
+            @CurrentUser AuthenticatedUser user,
             @RequestParam String format) {
         try {
-            String email = jwtUtil.extractEmail(token.replace("Bearer ", ""));
-            Customer customer = authService.getCustomerByEmail(email);
+            Customer customer = authService.getCustomerByEmail(user.getEmail());
             
             if (customer == null) {
                 return ResponseEntity.badRequest().build();
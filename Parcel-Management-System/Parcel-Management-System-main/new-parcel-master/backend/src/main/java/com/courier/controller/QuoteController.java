@@ -0,0 +1,59 @@
+package com.courier.controller;
+
+import com.courier.config.AuthenticatedUser;
+import com.courier.config.CurrentUser;
+import com.courier.dto.QuoteRequest;
+import com.courier.dto.QuoteResponse;
+import com.courier.model.DeliveryType;
+import com.courier.model.PackingPreference;
+import com.courier.util.CostCalculator;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/quotes")
+@CrossOrigin(origins = "http://localhost:4200")
+public class QuoteController {
+
+    /**
+     * Price a whole cart in one call without creating bookings.
+     * Officer rates (with the admin fee) apply only to authenticated officers.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<QuoteResponse> quoteBatch(@Valid @RequestBody QuoteRequest request,
+                                                    @CurrentUser(required = false) AuthenticatedUser user) {
+        List<QuoteRequest.Item> items = request.getItems();
+        int count = items.size();
+        int[] weights = new int[count];
+        DeliveryType[] deliveryTypes = new DeliveryType[count];
+        PackingPreference[] packingPreferences = new PackingPreference[count];
+        for (int i = 0; i < count; i++) {
+            QuoteRequest.Item item = items.get(i);
+            weights[i] = item.getParcelWeightInGram();
+            deliveryTypes[i] = item.getParcelDeliveryType();
+            packingPreferences[i] = item.getParcelPackingPreference();
+        }
+
+        boolean officer = user != null && user.hasRole("OFFICER");
+        long[] cents;
+        try {
+            cents = CostCalculator.calculateServiceCostCents(weights, deliveryTypes, packingPreferences, officer);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new QuoteResponse(false, e.getMessage(), null, null));
+        }
+
+        List<BigDecimal> costs = new ArrayList<>(count);
+        long totalCents = 0;
+        for (long itemCents : cents) {
+            costs.add(BigDecimal.valueOf(itemCents, 2));
+            totalCents = Math.addExact(totalCents, itemCents);
+        }
+        return ResponseEntity.ok(new QuoteResponse(true, "Quoted " + count + " items", costs,
+            BigDecimal.valueOf(totalCents, 2)));
+    }
+}
@@ -1,14 +1,22 @@
 package com.courier.controller;
 
+import com.courier.config.AuthenticatedUser;
+import com.courier.config.CurrentUser;
+import com.courier.dto.BookingDetails;
 import com.courier.model.Booking;
 import com.courier.model.Customer;
+import com.courier.dto.ParcelStatusEvent;
 import com.courier.dto.TrackingResponse;
 import com.courier.service.BookingService;
 import com.courier.service.AuthService;
-import com.courier.util.JwtUtil;
+import com.courier.service.ParcelStatusNotifier;
+import com.courier.util.BookingETag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -23,15 +31,14 @@ public class TrackingController {
     private AuthService authService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private ParcelStatusNotifier parcelStatusNotifier;
 
     @GetMapping("/customer/{bookingId}")
     public ResponseEntity<TrackingResponse> trackCustomerBooking(
             @PathVariable String bookingId,
-            @RequestHeader("Authorization") String token) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            String email = jwtUtil.extractEmail(token.replace("Bearer ", ""));
-            Customer customer = authService.getCustomerByEmail(email);
+            Customer customer = authService.getCustomerByEmail(user.getEmail());
             
             if (customer == null) {
                 return ResponseEntity.badRequest()
@@ -50,7 +57,12 @@ public class TrackingController {
                     .body(new TrackingResponse(false, "Unauthorized access", null));
             }
 
-            return ResponseEntity.ok(new TrackingResponse(true, "Tracking details found", booking));
+            // Polling clients revalidate with If-None-Match and get a bodiless 304 while nothing changed
+            return ResponseEntity.ok()
+                .eTag(BookingETag.of(booking))
+                .lastModified(BookingETag.lastModified(booking))
+                .cacheControl(BookingETag.REVALIDATE)
+                .body(new TrackingResponse(true, "Tracking details found", BookingDetails.from(booking)));
             
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -58,10 +70,58 @@ public class TrackingController {
         }
     }
 
+    /**
+     * Server-sent "status" events for one of the caller's bookings: the current
+     * status first, then every change. Browsers' EventSource cannot send headers,
+     * so stream URLs also accept the token as ?access_token=.
+     */
+    @GetMapping(value = "/customer/{bookingId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCustomerBooking(
+            @PathVariable String bookingId,
+            @CurrentUser AuthenticatedUser user) {
+        Customer customer = authService.getCustomerByEmail(user.getEmail());
+        if (customer == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Booking booking = bookingService.getBookingById(bookingId);
+        if (booking == null || !booking.getCustomer().getId().equals(customer.getId())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = parcelStatusNotifier.subscribeToBooking(bookingId);
+        try {
+            // Read again after subscribing so a change in between is not lost
+            Booking current = bookingService.getBookingById(bookingId);
+            if (current == null) {
+                parcelStatusNotifier.cancelBookingSubscription(bookingId, emitter);
+                return ResponseEntity.badRequest().build();
+            }
+            emitter.send(SseEmitter.event().name(ParcelStatusNotifier.STATUS_EVENT).data(
+                new ParcelStatusEvent(bookingId, customer.getId(), null, current.getParcelStatus(), current.getUpdatedAt()),
+                MediaType.APPLICATION_JSON));
+        } catch (IOException | RuntimeException e) {
+            parcelStatusNotifier.cancelBookingSubscription(bookingId, emitter);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Server-sent "status" events for every booking of the caller
+     */
+    @GetMapping(value = "/customer/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCustomerBookings(@CurrentUser AuthenticatedUser user) {
+        Customer customer = authService.getCustomerByEmail(user.getEmail());
+        if (customer == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(parcelStatusNotifier.subscribeToCustomer(customer.getId()));
+    }
+
     @GetMapping("/officer/{bookingId}")
     public ResponseEntity<TrackingResponse> trackOfficerBooking(@PathVariable String bookingId) {
         try {
-            Booking booking = bookingService.getBookingById(bookingId);
+            BookingDetails booking = bookingService.getBookingDetails(bookingId);
             if (booking == null) {
                 return ResponseEntity.badRequest()
                     .body(new TrackingResponse(false, "Booking not found", null));
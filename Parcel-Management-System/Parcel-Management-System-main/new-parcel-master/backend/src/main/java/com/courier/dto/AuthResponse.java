@@ -43,7 +43,7 @@ public class AuthResponse {
         this.countryCode = countryCode;
         this.mobileNumber = mobileNumber;
         this.address = address;
-        this.role = UserRole.valueOf(role);
+        this.role = role != null ? UserRole.valueOf(role) : null;
         this.uniqueId = uniqueId;
     }
     
@@ -59,7 +59,7 @@ public class AuthResponse {
         this.countryCode = countryCode;
         this.mobileNumber = mobileNumber;
         this.address = address;
-        this.role = UserRole.valueOf(role);
+        this.role = role != null ? UserRole.valueOf(role) : null;
         this.uniqueId = uniqueId;
         this.getUpdatesVia = getUpdatesVia;
     }
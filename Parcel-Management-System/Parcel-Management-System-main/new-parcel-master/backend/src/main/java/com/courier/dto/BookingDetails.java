@@ -0,0 +1,163 @@
+package com.courier.dto;
+
+import com.courier.model.Booking;
+import com.courier.model.Customer;
+import com.courier.model.DeliveryType;
+import com.courier.model.PackingPreference;
+import com.courier.model.ParcelStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of one booking for the tracking screens. The customer part carries
+ * only contact details, never the full customer entity.
+ */
+public class BookingDetails {
+    private Long id;
+    private String bookingId;
+    private Long customerId;
+    private CustomerContact customer;
+    private String receiverName;
+    private String receiverAddress;
+    private String receiverMobile;
+    private Integer parcelWeightInGram;
+    private String parcelContentsDescription;
+    private DeliveryType parcelDeliveryType;
+    private PackingPreference parcelPackingPreference;
+    private LocalDateTime parcelPickupTime;
+    private LocalDateTime parcelDropoffTime;
+    private BigDecimal parcelServiceCost;
+    private LocalDateTime parcelPaymentTime;
+    private ParcelStatus parcelStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public BookingDetails() {}
+
+    public BookingDetails(Long id, String bookingId,
+                          Long customerId, String customerName, String customerMobile, String customerAddress,
+                          String receiverName, String receiverAddress, String receiverMobile,
+                          Integer parcelWeightInGram, String parcelContentsDescription,
+                          DeliveryType parcelDeliveryType, PackingPreference parcelPackingPreference,
+                          LocalDateTime parcelPickupTime, LocalDateTime parcelDropoffTime,
+                          BigDecimal parcelServiceCost, LocalDateTime parcelPaymentTime,
+                          ParcelStatus parcelStatus, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.customer = new CustomerContact(customerId, customerName, customerMobile, customerAddress);
+        this.receiverName = receiverName;
+        this.receiverAddress = receiverAddress;
+        this.receiverMobile = receiverMobile;
+        this.parcelWeightInGram = parcelWeightInGram;
+        this.parcelContentsDescription = parcelContentsDescription;
+        this.parcelDeliveryType = parcelDeliveryType;
+        this.parcelPackingPreference = parcelPackingPreference;
+        this.parcelPickupTime = parcelPickupTime;
+        this.parcelDropoffTime = parcelDropoffTime;
+        this.parcelServiceCost = parcelServiceCost;
+        this.parcelPaymentTime = parcelPaymentTime;
+        this.parcelStatus = parcelStatus;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static BookingDetails from(Booking booking) {
+        Customer customer = booking.getCustomer();
+        return new BookingDetails(booking.getId(), booking.getBookingId(),
+            customer != null ? customer.getId() : null,
+            customer != null ? customer.getCustomerName() : null,
+            customer != null ? customer.getMobileNumber() : null,
+            customer != null ? customer.getAddress() : null,
+            booking.getReceiverName(), booking.getReceiverAddress(), booking.getReceiverMobile(),
+            booking.getParcelWeightInGram(), booking.getParcelContentsDescription(),
+            booking.getParcelDeliveryType(), booking.getParcelPackingPreference(),
+            booking.getParcelPickupTime(), booking.getParcelDropoffTime(),
+            booking.getParcelServiceCost(), booking.getParcelPaymentTime(),
+            booking.getParcelStatus(), booking.getCreatedAt(), booking.getUpdatedAt());
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getBookingId() { return bookingId; }
+    public void setBookingId(String bookingId) { this.bookingId = bookingId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public CustomerContact getCustomer() { return customer; }
+    public void setCustomer(CustomerContact customer) { this.customer = customer; }
+
+    public String getReceiverName() { return receiverName; }
+    public void setReceiverName(String receiverName) { this.receiverName = receiverName; }
+
+    public String getReceiverAddress() { return receiverAddress; }
+    public void setReceiverAddress(String receiverAddress) { this.receiverAddress = receiverAddress; }
+
+    public String getReceiverMobile() { return receiverMobile; }
+    public void setReceiverMobile(String receiverMobile) { this.receiverMobile = receiverMobile; }
+
+    public Integer getParcelWeightInGram() { return parcelWeightInGram; }
+    public void setParcelWeightInGram(Integer parcelWeightInGram) { this.parcelWeightInGram = parcelWeightInGram; }
+
+    public String getParcelContentsDescription() { return parcelContentsDescription; }
+    public void setParcelContentsDescription(String parcelContentsDescription) { this.parcelContentsDescription = parcelContentsDescription; }
+
+    public DeliveryType getParcelDeliveryType() { return parcelDeliveryType; }
+    public void setParcelDeliveryType(DeliveryType parcelDeliveryType) { this.parcelDeliveryType = parcelDeliveryType; }
+
+    public PackingPreference getParcelPackingPreference() { return parcelPackingPreference; }
+    public void setParcelPackingPreference(PackingPreference parcelPackingPreference) { this.parcelPackingPreference = parcelPackingPreference; }
+
+    public LocalDateTime getParcelPickupTime() { return parcelPickupTime; }
+    public void setParcelPickupTime(LocalDateTime parcelPickupTime) { this.parcelPickupTime = parcelPickupTime; }
+
+    public LocalDateTime getParcelDropoffTime() { return parcelDropoffTime; }
+    public void setParcelDropoffTime(LocalDateTime parcelDropoffTime) { this.parcelDropoffTime = parcelDropoffTime; }
+
+    public BigDecimal getParcelServiceCost() { return parcelServiceCost; }
+    public void setParcelServiceCost(BigDecimal parcelServiceCost) { this.parcelServiceCost = parcelServiceCost; }
+
+    public LocalDateTime getParcelPaymentTime() { return parcelPaymentTime; }
+    public void setParcelPaymentTime(LocalDateTime parcelPaymentTime) { this.parcelPaymentTime = parcelPaymentTime; }
+
+    public ParcelStatus getParcelStatus() { return parcelStatus; }
+    public void setParcelStatus(ParcelStatus parcelStatus) { this.parcelStatus = parcelStatus; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public static class CustomerContact {
+        private Long id;
+        private String customerName;
+        private String mobileNumber;
+        private String address;
+
+        public CustomerContact() {}
+
+        public CustomerContact(Long id, String customerName, String mobileNumber, String address) {
+            this.id = id;
+            this.customerName = customerName;
+            this.mobileNumber = mobileNumber;
+            this.address = address;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getCustomerName() { return customerName; }
+        public void setCustomerName(String customerName) { this.customerName = customerName; }
+
+        public String getMobileNumber() { return mobileNumber; }
+        public void setMobileNumber(String mobileNumber) { this.mobileNumber = mobileNumber; }
+
+        public String getAddress() { return address; }
+        public void setAddress(String address) { this.address = address; }
+    }
+}
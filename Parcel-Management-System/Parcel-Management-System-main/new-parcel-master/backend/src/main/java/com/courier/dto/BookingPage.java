@@ -1,30 +1,51 @@
 package com.courier.dto;
 
-import com.courier.model.Booking;
 import java.util.List;
 
 public class BookingPage {
-    private List<Booking> content;
+    private List<BookingSummary> content;
     private long totalElements;
     private int totalPages;
     private int currentPage;
     private int pageSize;
+    // Cursor for the next page (keyset paging); null on the last page
+    private String nextCursor;
+    private boolean hasNext;
+    // True when the totals come from the background-refreshed count cache
+    private boolean totalApproximate;
 
     public BookingPage() {}
 
-    public BookingPage(List<Booking> content, long totalElements, int totalPages, int currentPage, int pageSize) {
+    public BookingPage(List<BookingSummary> content, long totalElements, int totalPages, int currentPage, int pageSize) {
         this.content = content;
         this.totalElements = totalElements;
         this.totalPages = totalPages;
         this.currentPage = currentPage;
         this.pageSize = pageSize;
+        this.hasNext = currentPage + 1 < totalPages;
     }
 
-    public List<Booking> getContent() {
+    /**
+     * Count-free page (keyset or slice): hasNext comes from fetching one extra row.
+     * Totals start at -1 until approximate ones are applied.
+     */
+    public BookingPage(List<BookingSummary> content, int currentPage, int pageSize, boolean hasNext, String nextCursor) {
+        this(content, -1, -1, currentPage, pageSize);
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public void applyApproximateTotal(long approximateTotal) {
+        this.totalElements = approximateTotal;
+        this.totalPages = pageSize > 0 ? (int) ((approximateTotal + pageSize - 1) / pageSize) : 0;
+        this.totalApproximate = true;
+    }
+
+    public List<BookingSummary> getContent() {
         return content;
     }
 
-    public void setContent(List<Booking> content) {
+    public void setContent(List<BookingSummary> content) {
         this.content = content;
     }
 
@@ -59,4 +80,28 @@ public class BookingPage {
     public void setPageSize(int pageSize) {
         this.pageSize = pageSize;
     }
-} 
\ No newline at end of file
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public boolean isTotalApproximate() {
+        return totalApproximate;
+    }
+
+    public void setTotalApproximate(boolean totalApproximate) {
+        this.totalApproximate = totalApproximate;
+    }
+}
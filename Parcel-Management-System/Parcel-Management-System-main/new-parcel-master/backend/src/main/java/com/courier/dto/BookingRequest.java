@@ -6,6 +6,9 @@ import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
 
 public class BookingRequest {
+
+    // 1 tonne, the officer booking form's limit
+    public static final int MAX_WEIGHT_IN_GRAM = 1_000_000;
     
     @NotBlank(message = "Receiver name is required")
     private String receiverName;
@@ -23,6 +26,7 @@ public class BookingRequest {
     
     @NotNull(message = "Parcel weight is required")
     @Min(value = 1, message = "Weight must be at least 1 gram")
+    @Max(value = MAX_WEIGHT_IN_GRAM, message = "Weight must be at most " + MAX_WEIGHT_IN_GRAM + " grams")
     private Integer parcelWeightInGram;
     
     @NotBlank(message = "Parcel contents description is required")
@@ -0,0 +1,142 @@
+package com.courier.dto;
+
+import com.courier.model.ParcelStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for booking listings (previous bookings, all bookings, officer view).
+ * Filled by a JPQL constructor expression, so only these columns are selected and
+ * the customer entity (password hash included) is never loaded or serialized.
+ */
+public class BookingSummary {
+    private Long id;
+    private String bookingId;
+    private Long customerId;
+    private CustomerSummary customer;
+    private String receiverName;
+    private String receiverAddress;
+    private BigDecimal parcelServiceCost;
+    private ParcelStatus parcelStatus;
+    private LocalDateTime createdAt;
+
+    public BookingSummary() {}
+
+    public BookingSummary(Long id, String bookingId, Long customerId, String customerName,
+                          String receiverName, String receiverAddress, BigDecimal parcelServiceCost,
+                          ParcelStatus parcelStatus, LocalDateTime createdAt) {
+        this.id = id;
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.customer = new CustomerSummary(customerId, customerName);
+        this.receiverName = receiverName;
+        this.receiverAddress = receiverAddress;
+        this.parcelServiceCost = parcelServiceCost;
+        this.parcelStatus = parcelStatus;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(String bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public CustomerSummary getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(CustomerSummary customer) {
+        this.customer = customer;
+    }
+
+    public String getReceiverName() {
+        return receiverName;
+    }
+
+    public void setReceiverName(String receiverName) {
+        this.receiverName = receiverName;
+    }
+
+    public String getReceiverAddress() {
+        return receiverAddress;
+    }
+
+    public void setReceiverAddress(String receiverAddress) {
+        this.receiverAddress = receiverAddress;
+    }
+
+    public BigDecimal getParcelServiceCost() {
+        return parcelServiceCost;
+    }
+
+    public void setParcelServiceCost(BigDecimal parcelServiceCost) {
+        this.parcelServiceCost = parcelServiceCost;
+    }
+
+    public ParcelStatus getParcelStatus() {
+        return parcelStatus;
+    }
+
+    public void setParcelStatus(ParcelStatus parcelStatus) {
+        this.parcelStatus = parcelStatus;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * The customer fields a listing shows; keeps the JSON shape booking.customer.customerName
+     */
+    public static class CustomerSummary {
+        private Long id;
+        private String customerName;
+
+        public CustomerSummary() {}
+
+        public CustomerSummary(Long id, String customerName) {
+            this.id = id;
+            this.customerName = customerName;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getCustomerName() {
+            return customerName;
+        }
+
+        public void setCustomerName(String customerName) {
+            this.customerName = customerName;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.courier.dto;
+
+import com.courier.model.ParcelStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a "status" server-sent event. previousStatus is null on the first
+ * event of a booking stream, which reports the current status.
+ */
+public class ParcelStatusEvent {
+    private String bookingId;
+    private Long customerId;
+    private ParcelStatus previousStatus;
+    private ParcelStatus status;
+    private LocalDateTime changedAt;
+
+    public ParcelStatusEvent() {}
+
+    public ParcelStatusEvent(String bookingId, Long customerId, ParcelStatus previousStatus,
+                             ParcelStatus status, LocalDateTime changedAt) {
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+
+    // Getters and Setters
+    public String getBookingId() { return bookingId; }
+    public void setBookingId(String bookingId) { this.bookingId = bookingId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public ParcelStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(ParcelStatus previousStatus) { this.previousStatus = previousStatus; }
+
+    public ParcelStatus getStatus() { return status; }
+    public void setStatus(ParcelStatus status) { this.status = status; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
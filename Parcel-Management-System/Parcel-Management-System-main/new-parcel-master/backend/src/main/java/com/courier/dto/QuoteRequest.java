@@ -0,0 +1,44 @@
+package com.courier.dto;
+
+import com.courier.model.DeliveryType;
+import com.courier.model.PackingPreference;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+public class QuoteRequest {
+
+    public static final int MAX_ITEMS = 10000;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items can be quoted per call")
+    private List<@Valid @NotNull(message = "Item is required") Item> items;
+
+    public static class Item {
+
+        @NotNull(message = "Parcel weight is required")
+        @Min(value = 1, message = "Weight must be at least 1 gram")
+        @Max(value = BookingRequest.MAX_WEIGHT_IN_GRAM,
+            message = "Weight must be at most " + BookingRequest.MAX_WEIGHT_IN_GRAM + " grams")
+        private Integer parcelWeightInGram;
+
+        @NotNull(message = "Delivery type is required")
+        private DeliveryType parcelDeliveryType;
+
+        @NotNull(message = "Packing preference is required")
+        private PackingPreference parcelPackingPreference;
+
+        public Integer getParcelWeightInGram() { return parcelWeightInGram; }
+        public void setParcelWeightInGram(Integer parcelWeightInGram) { this.parcelWeightInGram = parcelWeightInGram; }
+
+        public DeliveryType getParcelDeliveryType() { return parcelDeliveryType; }
+        public void setParcelDeliveryType(DeliveryType parcelDeliveryType) { this.parcelDeliveryType = parcelDeliveryType; }
+
+        public PackingPreference getParcelPackingPreference() { return parcelPackingPreference; }
+        public void setParcelPackingPreference(PackingPreference parcelPackingPreference) { this.parcelPackingPreference = parcelPackingPreference; }
+    }
+
+    // Getters and Setters
+    public List<Item> getItems() { return items; }
+    public void setItems(List<Item> items) { this.items = items; }
+}
@@ -0,0 +1,54 @@
+package com.courier.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class QuoteResponse {
+    private boolean success;
+    private String message;
+    // Same order as the request items, tax included, exactly two decimal places
+    private List<BigDecimal> costs;
+    private BigDecimal total;
+
+    public QuoteResponse() {}
+
+    public QuoteResponse(boolean success, String message, List<BigDecimal> costs, BigDecimal total) {
+        this.success = success;
+        this.message = message;
+        this.costs = costs;
+        this.total = total;
+    }
+
+    // Getters and Setters
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<BigDecimal> getCosts() {
+        return costs;
+    }
+
+    public void setCosts(List<BigDecimal> costs) {
+        this.costs = costs;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+}
@@ -1,15 +1,13 @@
 package com.courier.dto;
 
-import com.courier.model.Booking;
-
 public class TrackingResponse {
     private boolean success;
     private String message;
-    private Booking booking;
+    private BookingDetails booking;
 
     public TrackingResponse() {}
 
-    public TrackingResponse(boolean success, String message, Booking booking) {
+    public TrackingResponse(boolean success, String message, BookingDetails booking) {
         this.success = success;
         this.message = message;
         this.booking = booking;
@@ -22,6 +20,6 @@ public class TrackingResponse {
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
     
-    public Booking getBooking() { return booking; }
-    public void setBooking(Booking booking) { this.booking = booking; }
+    public BookingDetails getBooking() { return booking; }
+    public void setBooking(BookingDetails booking) { this.booking = booking; }
 } 
\ No newline at end of file
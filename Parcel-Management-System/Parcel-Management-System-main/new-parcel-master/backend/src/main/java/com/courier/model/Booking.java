@@ -1,5 +1,6 @@
 package com.courier.model;
 
+import com.courier.util.IdGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
@@ -22,23 +23,33 @@ import java.time.LocalDateTime;
  * - @ManyToOne: Defines a many-to-one relationship with another entity
  * - @JoinColumn: Specifies the foreign key column for the relationship
  * - @Enumerated: Maps an enum to a database column
+ * - @PrePersist: Method called before an entity is saved for the first time
  * - @PreUpdate: Method called before an entity is updated
  */
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    // Listings and keyset paging read newest first on (created_at, id), globally and per customer;
+    // descending so the index delivers that order and a LIMIT stops the scan early
+    @Index(name = "idx_bookings_created_at_id", columnList = "created_at DESC, id DESC"),
+    @Index(name = "idx_bookings_customer_created_at_id", columnList = "customer_id, created_at DESC, id DESC"),
+    // Status filters and per-status counts, newest first
+    @Index(name = "idx_bookings_status_created_at", columnList = "parcel_status, created_at DESC, id DESC")
+})
 public class Booking {
     
     /**
      * Primary Key - Unique identifier for each booking
-     * Generated automatically by the database (auto-increment)
+     * Generated from a database sequence; Hibernate reserves 50 values per call
+     * (pooled optimizer) so inserts need no extra round trip and can be batched
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
     
     /**
      * Unique booking ID for customer reference
-     * Format: "BK" + timestamp (e.g., BK1703123456789)
+     * Format: "BK" + time-ordered numeric ID from IdGenerator
      */
     @Column(name = "booking_id", unique = true, nullable = false)
     private String bookingId;
@@ -164,22 +175,40 @@ public class Booking {
     
     /**
      * Default constructor
-     * Initializes timestamps and generates a unique booking ID
+     * Initializes timestamps. Hibernate also uses it for every loaded row, so it
+     * must not draw a booking ID; that happens in {@link #onCreate()}.
      */
     public Booking() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
-        this.bookingId = generateBookingId();
     }
-    
+
     /**
-     * Generates a unique booking ID using current timestamp
-     * Format: "BK" + current time in milliseconds
-     * 
-     * @return Unique booking ID string
+     * Copy constructor
+     * Creates a detached copy with the same id and field values, so a cached
+     * snapshot can be handed out without callers modifying the shared instance.
+     * The customer is copied too; saving the copy only writes the customer reference.
+     *
+     * @param other Booking to copy
      */
-    private String generateBookingId() {
-        return "BK" + System.currentTimeMillis();
+    public Booking(Booking other) {
+        this.id = other.id;
+        this.bookingId = other.bookingId;
+        this.customer = other.customer != null ? new Customer(other.customer) : null;
+        this.receiverName = other.receiverName;
+        this.receiverAddress = other.receiverAddress;
+        this.receiverMobile = other.receiverMobile;
+        this.parcelWeightInGram = other.parcelWeightInGram;
+        this.parcelContentsDescription = other.parcelContentsDescription;
+        this.parcelDeliveryType = other.parcelDeliveryType;
+        this.parcelPackingPreference = other.parcelPackingPreference;
+        this.parcelPickupTime = other.parcelPickupTime;
+        this.parcelDropoffTime = other.parcelDropoffTime;
+        this.parcelServiceCost = other.parcelServiceCost;
+        this.parcelPaymentTime = other.parcelPaymentTime;
+        this.parcelStatus = other.parcelStatus;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
     }
     
     // Getters and Setters
@@ -321,6 +350,18 @@ public class Booking {
         this.updatedAt = updatedAt;
     }
     
+    /**
+     * JPA lifecycle method called before an entity is saved for the first time
+     * Generates the booking ID if none was set
+     * Format: "BK" + time-ordered numeric ID from IdGenerator
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (this.bookingId == null) {
+            this.bookingId = IdGenerator.next("BK");
+        }
+    }
+    
     /**
      * JPA lifecycle method called before an entity is updated
      * Automatically updates the updatedAt timestamp
@@ -0,0 +1,62 @@
+package com.courier.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One suffix of a booking ID, for partial booking-ID search.
+ *
+ * Every booking stores each suffix of its booking ID of at least
+ * BookingIdSearchIndex.MIN_QUERY_LENGTH characters. Any substring of the ID is a prefix
+ * of one of its suffixes, so "contains q" becomes "suffix LIKE 'q%'", which is an index
+ * range scan. Its cost depends on the number of matches, not on the size of the table.
+ */
+@Entity
+@Table(name = "booking_id_suffixes", indexes = {
+    @Index(name = "idx_booking_id_suffixes_suffix", columnList = "suffix, booking_pk"),
+    @Index(name = "idx_booking_id_suffixes_booking", columnList = "booking_pk")
+})
+public class BookingIdSuffix {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_id_suffix_seq")
+    @SequenceGenerator(name = "booking_id_suffix_seq", sequenceName = "booking_id_suffix_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "suffix", nullable = false)
+    private String suffix;
+
+    // Primary key (bookings.id) of the booking, not the public bookingId
+    @Column(name = "booking_pk", nullable = false)
+    private Long bookingPk;
+
+    public BookingIdSuffix() {}
+
+    public BookingIdSuffix(String suffix, Long bookingPk) {
+        this.suffix = suffix;
+        this.bookingPk = bookingPk;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public void setSuffix(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public Long getBookingPk() {
+        return bookingPk;
+    }
+
+    public void setBookingPk(Long bookingPk) {
+        this.bookingPk = bookingPk;
+    }
+}
@@ -1,5 +1,7 @@
 package com.courier.model;
 
+import com.courier.util.IdGenerator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
@@ -27,10 +29,12 @@ public class Customer {
     
     /**
      * Primary Key - Unique identifier for each customer
-     * Generated automatically by the database (auto-increment)
+     * Generated from a database sequence; Hibernate reserves 50 values per call
+     * (pooled optimizer) so inserts need no extra round trip and can be batched
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     private Long id;
     
     /**
@@ -81,10 +85,11 @@ public class Customer {
     
     /**
      * Encrypted password for customer authentication
-     * Stored as hashed value for security
+     * Stored as hashed value for security; never written to JSON responses
      */
     @NotBlank(message = "Password is required")
     @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     
     /**
@@ -127,7 +132,7 @@ public class Customer {
     
     /**
      * Unique identifier for customer reference
-     * Format: "CUST" + timestamp + random suffix
+     * Format: "CUST" or "OFF" + time-ordered numeric ID from IdGenerator
      */
     @Column(name = "unique_id", unique = true)
     private String uniqueId;
@@ -141,6 +146,30 @@ public class Customer {
         this.updatedAt = LocalDateTime.now();
     }
     
+    /**
+     * Copy constructor
+     * Creates a detached copy with the same id and field values, so a cached
+     * booking snapshot does not share a mutable customer between threads.
+     * Reads through the getters, since the source may be a lazy proxy.
+     *
+     * @param other Customer to copy
+     */
+    public Customer(Customer other) {
+        this.id = other.getId();
+        this.customerName = other.getCustomerName();
+        this.email = other.getEmail();
+        this.mobileNumber = other.getMobileNumber();
+        this.countryCode = other.getCountryCode();
+        this.address = other.getAddress();
+        this.password = other.getPassword();
+        this.createdAt = other.getCreatedAt();
+        this.updatedAt = other.getUpdatedAt();
+        this.preferences = other.getPreferences();
+        this.getUpdatesVia = other.getGetUpdatesVia();
+        this.role = other.getRole();
+        this.uniqueId = other.getUniqueId();
+    }
+    
     // Getters and Setters
     // These methods allow other classes to access and modify the private fields
     
@@ -250,19 +279,14 @@ public class Customer {
     
     /**
      * JPA lifecycle method called before an entity is saved for the first time
-     * Generates unique ID and sets timestamps
+     * Generates the unique reference ID if none was set and sets timestamps
      */
     @PrePersist
     protected void onCreate() {
-        if (getId() == null) {
+        if (this.uniqueId == null) {
             // Generate unique ID based on role
             String prefix = this.role == UserRole.CUSTOMER ? "CUST" : "OFF";
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            String randomSuffix = String.valueOf((int)(Math.random() * 1000));
-            String uniqueId = prefix + timestamp.substring(timestamp.length() - 6) + randomSuffix;
-            
-            // Set the generated ID
-            this.setId(Long.parseLong(timestamp + randomSuffix));
+            this.uniqueId = IdGenerator.next(prefix);
         }
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -1,5 +1,6 @@
 package com.courier.model;
 
+import com.courier.util.IdGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
@@ -10,7 +11,8 @@ import java.time.LocalDateTime;
 public class Payment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payment_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "payment_id", unique = true, nullable = false)
@@ -52,22 +54,11 @@ public class Payment {
     private LocalDateTime updatedAt;
     
     // Constructors
+    // Hibernate also uses this for every loaded row, so IDs are drawn in onCreate, not here
     public Payment() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
         this.transactionDate = LocalDateTime.now();
-        this.paymentId = generatePaymentId();
-        this.transactionId = generateTransactionId();
-    }
-    
-    // Generate unique payment ID
-    private String generatePaymentId() {
-        return "PAY" + System.currentTimeMillis();
-    }
-    
-    // Generate unique transaction ID
-    private String generateTransactionId() {
-        return "TXN" + System.currentTimeMillis();
     }
     
     // Getters and Setters
@@ -167,6 +158,17 @@ public class Payment {
         this.updatedAt = updatedAt;
     }
     
+    // Generate unique payment and transaction IDs unless the caller already set them
+    @PrePersist
+    protected void onCreate() {
+        if (this.paymentId == null) {
+            this.paymentId = IdGenerator.next("PAY");
+        }
+        if (this.transactionId == null) {
+            this.transactionId = IdGenerator.next("TXN");
+        }
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
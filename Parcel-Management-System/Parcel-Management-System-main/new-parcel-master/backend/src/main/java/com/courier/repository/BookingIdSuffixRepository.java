@@ -0,0 +1,19 @@
+package com.courier.repository;
+
+import com.courier.model.BookingIdSuffix;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface BookingIdSuffixRepository extends JpaRepository<BookingIdSuffix, Long> {
+
+    // Bookings saved before the search index existed (or outside BookingService); used by the backfill
+    @Query("SELECT b.id, b.bookingId FROM Booking b " +
+           "WHERE b.id > :afterId AND NOT EXISTS (SELECT 1 FROM BookingIdSuffix s WHERE s.bookingPk = b.id) " +
+           "ORDER BY b.id")
+    List<Object[]> findUnindexedBookings(@Param("afterId") Long afterId, Pageable pageable);
+}
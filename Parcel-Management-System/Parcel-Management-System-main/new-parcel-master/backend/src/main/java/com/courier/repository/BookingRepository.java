@@ -1,12 +1,16 @@
 package com.courier.repository;
 
+import com.courier.dto.BookingSummary;
 import com.courier.model.Booking;
+import com.courier.model.ParcelStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,15 +24,89 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Page<Booking> findByCustomerIdOrderByCreatedAtDesc(Long customerId, Pageable pageable);
     
     Page<Booking> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    // Listing projections: select only the columns a listing shows, never the customer entity.
+    // customer_id is NOT NULL, so the LEFT JOIN returns the same rows as an inner join; it keeps
+    // bookings as the driving table, read newest first from an index, so a LIMIT stops early.
+    String SUMMARY_SELECT = "SELECT new com.courier.dto.BookingSummary(b.id, b.bookingId, c.id, c.customerName, " +
+           "b.receiverName, b.receiverAddress, b.parcelServiceCost, b.parcelStatus, b.createdAt) " +
+           "FROM Booking b LEFT JOIN b.customer c ";
+
+    @Query(value = SUMMARY_SELECT + "ORDER BY b.createdAt DESC, b.id DESC",
+           countQuery = "SELECT COUNT(b) FROM Booking b")
+    Page<BookingSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :customerId ORDER BY b.createdAt DESC, b.id DESC",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.customer.id = :customerId")
+    Page<BookingSummary> findSummariesByCustomer(@Param("customerId") Long customerId, Pageable pageable);
+
+    // Slice variants read size+1 rows to know whether a next page exists, and skip the COUNT
+    @Query(SUMMARY_SELECT + "ORDER BY b.createdAt DESC, b.id DESC")
+    Slice<BookingSummary> findSummarySlice(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :customerId ORDER BY b.createdAt DESC, b.id DESC")
+    Slice<BookingSummary> findSummarySliceByCustomer(@Param("customerId") Long customerId, Pageable pageable);
+
+    long countByCustomerId(Long customerId);
+
+    @Query("SELECT b.parcelStatus FROM Booking b WHERE b.id = :id")
+    Optional<ParcelStatus> findStatusById(@Param("id") Long id);
+
+    // Full scan in id order with the customer fetched in the same query; used to rebuild the search index
+    @Query("SELECT b FROM Booking b JOIN FETCH b.customer WHERE b.id > :afterId ORDER BY b.id")
+    List<Booking> findWithCustomerAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset (seek) paging on (createdAt, id): pass PageRequest.of(0, n) to get the first n rows, no COUNT query
+    @Query(SUMMARY_SELECT + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummary> findNewest(Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+           "WHERE b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummary> findNewestBefore(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :customerId ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummary> findNewestByCustomer(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :customerId " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummary> findNewestByCustomerBefore(
+        @Param("customerId") Long customerId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
     
-    @Query("SELECT b FROM Booking b WHERE b.customer.id = :customerId " +
-           "AND (:bookingId IS NULL OR b.bookingId LIKE %:bookingId%) " +
+    // Booking filters for the customer list (customerId set) and the officer search (customerId null)
+    @Query(value = SUMMARY_SELECT + "WHERE (:customerId IS NULL OR c.id = :customerId) " +
+           "AND b.parcelStatus = :status " +
+           "ORDER BY b.createdAt DESC, b.id DESC",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE (:customerId IS NULL OR b.customer.id = :customerId) " +
+           "AND b.parcelStatus = :status")
+    Page<BookingSummary> findByCustomerIdAndFilters(
+        @Param("customerId") Long customerId,
+        @Param("status") ParcelStatus status,
+        Pageable pageable
+    );
+
+    // Partial booking-ID match through the suffix table: a prefix range scan instead of LIKE '%...%' over bookings
+    @Query(value = SUMMARY_SELECT + "WHERE b.id IN (SELECT s.bookingPk FROM BookingIdSuffix s WHERE s.suffix LIKE :prefix) " +
+           "AND (:customerId IS NULL OR c.id = :customerId) " +
            "AND (:status IS NULL OR b.parcelStatus = :status) " +
-           "ORDER BY b.createdAt DESC")
-    Page<Booking> findByCustomerIdAndFilters(
+           "ORDER BY b.createdAt DESC, b.id DESC",
+           countQuery = "SELECT COUNT(b) FROM Booking b " +
+           "WHERE b.id IN (SELECT s.bookingPk FROM BookingIdSuffix s WHERE s.suffix LIKE :prefix) " +
+           "AND (:customerId IS NULL OR b.customer.id = :customerId) " +
+           "AND (:status IS NULL OR b.parcelStatus = :status)")
+    Page<BookingSummary> searchByBookingId(
         @Param("customerId") Long customerId,
-        @Param("bookingId") String bookingId,
-        @Param("status") String status,
+        @Param("prefix") String prefix,
+        @Param("status") ParcelStatus status,
         Pageable pageable
     );
 } 
\ No newline at end of file
@@ -10,8 +10,12 @@ import com.courier.model.UserRole;
 import com.courier.repository.CustomerRepository;
 import com.courier.util.JwtUtil;
 import com.courier.util.PasswordUtil;
+import com.courier.util.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.Optional;
 import jakarta.persistence.PrePersist;
 import java.time.LocalDateTime;
@@ -41,6 +45,8 @@ import java.time.LocalDateTime;
 @Service
 public class AuthService {
     
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+    
     /**
      * Repository for customer data operations
      * Handles database interactions for customer entities
@@ -48,6 +54,20 @@ public class AuthService {
     @Autowired
     private CustomerRepository customerRepository;
     
+    /**
+     * Read cache in front of customer lookups by email and id
+     * Invalidated on every customer save
+     */
+    @Autowired
+    private CustomerCache customerCache;
+    
+    /**
+     * Booking snapshots embed customer fields
+     * Each customer's snapshots are dropped when the customer is saved
+     */
+    @Autowired
+    private BookingCache bookingCache;
+    
     /**
      * Utility for JWT token operations
      * Generates and validates JSON Web Tokens
@@ -62,6 +82,13 @@ public class AuthService {
     @Autowired
     private PasswordUtil passwordUtil;
     
+    /**
+     * Revocation list for issued JWTs
+     * Used to invalidate existing sessions after a password change
+     */
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     /**
      * Register a new user (customer or officer)
      * 
@@ -104,13 +131,10 @@ public class AuthService {
             
             // Generate unique ID for user reference
             String prefix = UserRole.valueOf(request.getRole()) == UserRole.CUSTOMER ? "CUST" : "OFF";
-            String timestamp = String.valueOf(System.currentTimeMillis()).substring(8);
-            String randomSuffix = String.valueOf((int)(Math.random() * 1000));
-            String uniqueId = prefix + timestamp + randomSuffix;
-            customer.setUniqueId(uniqueId);
+            customer.setUniqueId(IdGenerator.next(prefix));
             
             // Save customer to database
-            Customer savedCustomer = customerRepository.save(customer);
+            Customer savedCustomer = saveCustomer(customer);
             
             // Generate JWT token for immediate login
             String token = jwtUtil.generateToken(savedCustomer.getEmail(), savedCustomer.getId(), savedCustomer.getRole());
@@ -131,6 +155,9 @@ public class AuthService {
                 savedCustomer.getGetUpdatesVia()
             );
             
+        } catch (ResponseStatusException e) {
+            // Hashing pool is saturated; let the 503 reach the client
+            throw e;
         } catch (Exception e) {
             // Return error response if registration fails
             return new AuthResponse(false, "Registration failed: " + e.getMessage(), null, null, null, null, null, null, null, null, null);
@@ -184,6 +211,9 @@ public class AuthService {
             return new AuthResponse(false, "Invalid Customer ID or password", null, null, null, null, null, null, null, null, null);
         }
         
+        // Bring the stored hash to the calibrated cost while we still have the raw password
+        rehashPasswordIfNeeded(customer, request.getPassword());
+        
         // Generate JWT token for authenticated session
         String token = jwtUtil.generateToken(customer.getEmail(), customer.getId(), customer.getRole());
         
@@ -275,6 +305,9 @@ public class AuthService {
             );
         }
         
+        // Bring the stored hash to the calibrated cost while we still have the raw password
+        rehashPasswordIfNeeded(customer, request.getPassword());
+        
         // Generate JWT token for authenticated session
         String token = jwtUtil.generateToken(customer.getEmail(), customer.getId(), customer.getRole());
         
@@ -295,6 +328,43 @@ public class AuthService {
         );
     }
     
+    /**
+     * Re-hash a password whose stored hash uses a different BCrypt cost
+     * 
+     * Called only after a successful password check. A failure here must not
+     * fail the login, so errors are logged and the old hash is kept.
+     * 
+     * @param customer Customer whose password was just verified
+     * @param rawPassword Plain-text password from the login request
+     */
+    private void rehashPasswordIfNeeded(Customer customer, String rawPassword) {
+        if (!passwordUtil.needsRehash(customer.getPassword())) {
+            return;
+        }
+        try {
+            customer.setPassword(passwordUtil.encode(rawPassword));
+            saveCustomer(customer);
+        } catch (Exception e) {
+            log.warn("Password rehash skipped for customer {}: {}", customer.getId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Save a customer and drop any cached copy of it
+     * 
+     * All customer writes go through here so the caches never serve stale rows,
+     * including the customer fields inside cached booking snapshots.
+     * 
+     * @param customer Customer to persist
+     * @return Saved customer
+     */
+    private Customer saveCustomer(Customer customer) {
+        Customer saved = customerRepository.save(customer);
+        customerCache.invalidate(saved);
+        bookingCache.invalidateCustomer(saved.getId());
+        return saved;
+    }
+    
     /**
      * Get customer by ID
      * 
@@ -302,17 +372,20 @@ public class AuthService {
      * @return Customer object or null if not found
      */
     public Customer getCustomerById(Long id) {
-        return customerRepository.findById(id).orElse(null);
+        return customerCache.getById(id);
     }
     
     /**
      * Get customer by email address
      * 
+     * Served from the customer cache; this is called by nearly every
+     * authenticated endpoint.
+     * 
      * @param email Email address to search for
      * @return Customer object or null if not found
      */
     public Customer getCustomerByEmail(String email) {
-        return customerRepository.findByEmail(email).orElse(null);
+        return customerCache.getByEmail(email);
     }
 
     /**
@@ -323,7 +396,8 @@ public class AuthService {
      * 2. Check new password matches confirmation
      * 3. Hash new password
      * 4. Update database
-     * 5. Return success/failure response
+     * 5. Revoke every token issued before the change
+     * 6. Return success/failure response
      * 
      * @param userId ID of the user changing password
      * @param request Password change request with current, new, and confirm passwords
@@ -331,52 +405,44 @@ public class AuthService {
      */
     public PasswordChangeResponse changePassword(Long userId, PasswordChangeRequest request) {
         try {
-            // Debug logging for troubleshooting
-            System.out.println("=== Password Change Service Debug ===");
-            System.out.println("Changing password for user ID: " + userId);
-            System.out.println("Current password provided: " + (request.getCurrentPassword() != null ? "YES" : "NO"));
-            System.out.println("New password provided: " + (request.getNewPassword() != null ? "YES" : "NO"));
-            System.out.println("Confirm password provided: " + (request.getConfirmPassword() != null ? "YES" : "NO"));
+            log.debug("Changing password for user ID {}", userId);
             
             // Get the customer from database
             Customer customer = customerRepository.findById(userId)
                     .orElseThrow(() -> new RuntimeException("Customer not found"));
             
-            System.out.println("Found customer: " + customer.getCustomerName());
-            System.out.println("Customer email: " + customer.getEmail());
-            System.out.println("Customer current password hash: " + customer.getPassword().substring(0, Math.min(customer.getPassword().length(), 20)) + "...");
-            
             // Verify current password matches stored hash
             boolean passwordMatches = passwordUtil.matches(request.getCurrentPassword(), customer.getPassword());
-            System.out.println("Current password verification: " + (passwordMatches ? "SUCCESS" : "FAILED"));
             
             if (!passwordMatches) {
-                System.out.println("Current password verification failed");
+                log.info("Password change rejected for user ID {}: current password incorrect", userId);
                 return new PasswordChangeResponse(false, "Current password is incorrect");
             }
             
             // Check if new password matches confirm password
             if (!request.getNewPassword().equals(request.getConfirmPassword())) {
-                System.out.println("Password confirmation mismatch");
                 return new PasswordChangeResponse(false, "New password and confirm password do not match");
             }
             
             // Hash the new password for security
             String hashedPassword = passwordUtil.encode(request.getNewPassword());
-            System.out.println("New password hashed successfully");
-            System.out.println("New password hash: " + hashedPassword.substring(0, Math.min(hashedPassword.length(), 20)) + "...");
             
             // Update the password in database
             customer.setPassword(hashedPassword);
-            customerRepository.save(customer);
+            saveCustomer(customer);
+            
+            // Old sessions must not outlive the old password
+            tokenRevocationService.revokeAllForUser(userId);
             
-            System.out.println("Password updated successfully in database");
+            log.info("Password updated for user ID {}", userId);
             return new PasswordChangeResponse(true, "Password updated successfully");
             
+        } catch (ResponseStatusException e) {
+            // Hashing pool is saturated; let the 503 reach the client
+            throw e;
         } catch (Exception e) {
             // Log error and return failure response
-            System.err.println("Error changing password: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error changing password for user ID {}", userId, e);
             return new PasswordChangeResponse(false, "Failed to update password: " + e.getMessage());
         }
     }
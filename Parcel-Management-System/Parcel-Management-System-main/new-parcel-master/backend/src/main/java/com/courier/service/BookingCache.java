@@ -0,0 +1,97 @@
+package com.courier.service;
+
+import com.courier.model.Booking;
+import com.courier.model.ParcelStatus;
+import com.courier.repository.BookingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded read-through cache of booking snapshots keyed by booking ID.
+ *
+ * Tracking, pickup, delivery-status, payment and feedback all start from a lookup by
+ * booking ID, and popular tracking numbers are polled hard. Concurrent misses for one
+ * ID share a single query. Callers get their own copy of the snapshot, so they can
+ * modify it and pass it to BookingService.updateBooking, which writes the saved state
+ * back. Snapshots also carry customer fields, so saving a customer drops that customer's
+ * snapshots. The TTL covers any writes that bypass these paths. Misses are not cached.
+ */
+@Component
+public class BookingCache {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${cache.booking.max-size:10000}")
+    private long maxSize;
+
+    @Value("${cache.booking.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<String, Booking> byBookingId;
+
+    @PostConstruct
+    void init() {
+        this.byBookingId = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * @return A private copy of the booking, or null if there is no such booking
+     */
+    public Booking get(String bookingId) {
+        if (bookingId == null) {
+            return null;
+        }
+        Booking snapshot = byBookingId.get(bookingId,
+            key -> bookingRepository.findByBookingId(key).map(Booking::new).orElse(null));
+        return snapshot != null ? new Booking(snapshot) : null;
+    }
+
+    /**
+     * Replace the snapshot with the state that was just saved.
+     */
+    public void put(Booking saved) {
+        if (saved.getBookingId() != null) {
+            byBookingId.put(saved.getBookingId(), new Booking(saved));
+        }
+    }
+
+    /**
+     * @return Status of the cached snapshot, or null if the booking is not cached; never queries
+     */
+    public ParcelStatus peekStatus(String bookingId) {
+        Booking snapshot = bookingId != null ? byBookingId.getIfPresent(bookingId) : null;
+        return snapshot != null ? snapshot.getParcelStatus() : null;
+    }
+
+    public void invalidate(String bookingId) {
+        if (bookingId != null) {
+            byBookingId.invalidate(bookingId);
+        }
+    }
+
+    /**
+     * Drop every snapshot of this customer's bookings, after the customer was saved.
+     * Walks the whole cache, which is fine for customer writes (profile and password changes).
+     */
+    public void invalidateCustomer(Long customerId) {
+        if (customerId != null) {
+            byBookingId.asMap().values().removeIf(snapshot ->
+                snapshot.getCustomer() != null && customerId.equals(snapshot.getCustomer().getId()));
+        }
+    }
+
+    public Cache<String, Booking> getCache() {
+        return byBookingId;
+    }
+}
@@ -0,0 +1,60 @@
+package com.courier.service;
+
+import com.courier.repository.BookingRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Approximate booking counts for the count-free listing modes.
+ *
+ * Counts are cached per customer, with ALL_BOOKINGS as the key for the total. Once
+ * an entry is older than the refresh interval, the next read still returns the
+ * cached value and triggers a COUNT in the background. Listing requests therefore
+ * never wait on a count, except the very first read of a key.
+ */
+@Component
+public class BookingCountCache {
+
+    public static final long ALL_BOOKINGS = -1L;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${booking.count-cache.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    @Value("${booking.count-cache.max-size:10000}")
+    private long maxSize;
+
+    private LoadingCache<Long, Long> counts;
+
+    @PostConstruct
+    void init() {
+        this.counts = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+            .expireAfterAccess(Duration.ofSeconds(refreshSeconds * 20))
+            .recordStats()
+            .build(key -> key == ALL_BOOKINGS
+                ? bookingRepository.count()
+                : bookingRepository.countByCustomerId(key));
+    }
+
+    public long countAll() {
+        return counts.get(ALL_BOOKINGS);
+    }
+
+    public long countForCustomer(Long customerId) {
+        return counts.get(customerId);
+    }
+
+    public LoadingCache<Long, Long> getCache() {
+        return counts;
+    }
+}
@@ -0,0 +1,364 @@
+package com.courier.service;
+
+import com.courier.dto.BookingPage;
+import com.courier.dto.BookingSummary;
+import com.courier.model.Booking;
+import com.courier.model.ParcelStatus;
+import com.courier.repository.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene index over receiver name, address, mobile and parcel contents.
+ *
+ * BookingService pushes every create and update here once the transaction commits,
+ * and searches are served from near-real-time searchers without a database query:
+ * each document stores the fields of a BookingSummary. The index lives on local disk
+ * and is rebuilt from the database at startup when its document count does not
+ * match the bookings table.
+ */
+@Component
+public class BookingFullTextIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingFullTextIndex.class);
+
+    // Deep pages cost as much as collecting every hit before them, so they are capped
+    public static final int MAX_RESULT_WINDOW = 10000;
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final String PK = "pk";
+    private static final String BOOKING_ID = "bookingId";
+    private static final String CUSTOMER_ID = "customerId";
+    private static final String CUSTOMER_NAME = "customerName";
+    private static final String RECEIVER_NAME = "receiverName";
+    private static final String RECEIVER_ADDRESS = "receiverAddress";
+    private static final String RECEIVER_MOBILE = "receiverMobile";
+    private static final String CONTENTS = "parcelContentsDescription";
+    private static final String COST = "parcelServiceCost";
+    private static final String STATUS = "parcelStatus";
+    private static final String CREATED_AT = "createdAt";
+
+    // Per-word fields and their weight in the ranking
+    private static final Map<String, Float> TEXT_FIELDS = Map.of(
+        RECEIVER_NAME, 3.0f,
+        RECEIVER_ADDRESS, 1.5f,
+        CONTENTS, 1.0f
+    );
+
+    private static final int MOBILE_MIN_GRAM = 3;
+    private static final int MOBILE_MAX_GRAM = 10;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    // One directory per instance: Lucene allows a single writer, so instances on one host must not share it
+    @Value("${search.index.dir:${java.io.tmpdir}/courier-booking-index-${server.port:8080}}")
+    private String indexDir;
+
+    private final StandardAnalyzer textAnalyzer = new StandardAnalyzer();
+
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    void open() throws IOException {
+        Path path = Paths.get(indexDir);
+        Files.createDirectories(path);
+        // Mobile numbers are indexed as 3-10 digit n-grams so any part of a number matches
+        Analyzer mobileAnalyzer = new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new NGramTokenizer(MOBILE_MIN_GRAM, MOBILE_MAX_GRAM);
+                return new TokenStreamComponents(tokenizer);
+            }
+        };
+        Map<String, Analyzer> perField = new HashMap<>();
+        perField.put(RECEIVER_MOBILE, mobileAnalyzer);
+        Analyzer analyzer = new PerFieldAnalyzerWrapper(textAnalyzer, perField);
+
+        this.directory = FSDirectory.open(path);
+        try {
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        } catch (LockObtainFailedException e) {
+            directory.close();
+            throw new IllegalStateException("Booking search index at " + path.toAbsolutePath()
+                + " is in use by another instance; give each instance its own search.index.dir", e);
+        }
+        this.searcherManager = new SearcherManager(writer, null);
+        log.info("Booking search index opened at {}", path.toAbsolutePath());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Index or re-index bookings. Inside a transaction this waits for the commit,
+     * so a rolled-back insert never shows up in search results.
+     */
+    public void indexAfterCommit(List<Booking> bookings) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Booking> pending = new ArrayList<>(bookings);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index(pending);
+                }
+            });
+        } else {
+            index(bookings);
+        }
+    }
+
+    private void index(List<Booking> bookings) {
+        try {
+            for (Booking booking : bookings) {
+                writer.updateDocument(new Term(PK, String.valueOf(booking.getId())), toDocument(booking));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            // The database is the source of truth; a count mismatch triggers a rebuild on restart
+            log.error("Failed to index {} bookings for search", bookings.size(), e);
+        }
+    }
+
+    private Document toDocument(Booking booking) {
+        Document doc = new Document();
+        doc.add(new StringField(PK, String.valueOf(booking.getId()), Field.Store.YES));
+        doc.add(new StringField(BOOKING_ID, booking.getBookingId(), Field.Store.YES));
+        if (booking.getCustomer() != null) {
+            doc.add(new StoredField(CUSTOMER_ID, booking.getCustomer().getId()));
+            doc.add(new StoredField(CUSTOMER_NAME, booking.getCustomer().getCustomerName()));
+        }
+        addText(doc, RECEIVER_NAME, booking.getReceiverName(), Field.Store.YES);
+        addText(doc, RECEIVER_ADDRESS, booking.getReceiverAddress(), Field.Store.YES);
+        addText(doc, CONTENTS, booking.getParcelContentsDescription(), Field.Store.NO);
+        addText(doc, RECEIVER_MOBILE, booking.getReceiverMobile(), Field.Store.NO);
+        if (booking.getParcelServiceCost() != null) {
+            doc.add(new StoredField(COST, booking.getParcelServiceCost().toPlainString()));
+        }
+        if (booking.getParcelStatus() != null) {
+            doc.add(new StringField(STATUS, booking.getParcelStatus().name(), Field.Store.YES));
+        }
+        if (booking.getCreatedAt() != null) {
+            doc.add(new StoredField(CREATED_AT, booking.getCreatedAt().toString()));
+        }
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String value, Field.Store store) {
+        if (value != null) {
+            doc.add(new TextField(field, value, store));
+        }
+    }
+
+    /**
+     * Ranked search: every word of the query must match receiver name, address or
+     * contents (the last word also as a prefix, for type-ahead), or be a run of at
+     * least three digits from the receiver's mobile number.
+     *
+     * @throws IllegalArgumentException if the query has no searchable words, or the page is past the result window
+     */
+    public BookingPage search(String queryText, int page, int size) {
+        Query query = buildQuery(queryText);
+        // Checked by division so that a huge page number cannot overflow page * size
+        if (page < 0 || size < 1 || page >= MAX_RESULT_WINDOW / size) {
+            throw new IllegalArgumentException("Search pages must stay within the first " + MAX_RESULT_WINDOW + " results");
+        }
+        int from = page * size;
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs top = searcher.search(query, from + size);
+            StoredFields storedFields = searcher.storedFields();
+            List<BookingSummary> content = new ArrayList<>(size);
+            for (int i = from; i < top.scoreDocs.length; i++) {
+                ScoreDoc hit = top.scoreDocs[i];
+                content.add(toSummary(storedFields.document(hit.doc)));
+            }
+            // Lucene stops counting exactly after 1000 hits; totals beyond that are a lower bound
+            long total = top.totalHits.value;
+            BookingPage result = new BookingPage(content, total, (int) ((total + size - 1) / size), page, size);
+            result.setTotalApproximate(top.totalHits.relation != TotalHits.Relation.EQUAL_TO);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("Failed to release search index searcher", e);
+                }
+            }
+        }
+    }
+
+    private Query buildQuery(String queryText) {
+        List<String> words = analyze(queryText);
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search text has no searchable words");
+        }
+        BooleanQuery.Builder all = new BooleanQuery.Builder();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            boolean last = i == words.size() - 1;
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> field : TEXT_FIELDS.entrySet()) {
+                anyField.add(new BoostQuery(new TermQuery(new Term(field.getKey(), word)), field.getValue()),
+                    BooleanClause.Occur.SHOULD);
+                if (last) {
+                    anyField.add(new BoostQuery(new PrefixQuery(new Term(field.getKey(), word)), field.getValue() / 2),
+                        BooleanClause.Occur.SHOULD);
+                }
+            }
+            if (isMobileFragment(word)) {
+                anyField.add(new BoostQuery(new TermQuery(new Term(RECEIVER_MOBILE, word)), 2.0f),
+                    BooleanClause.Occur.SHOULD);
+            }
+            all.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return all.build();
+    }
+
+    private static boolean isMobileFragment(String word) {
+        if (word.length() < MOBILE_MIN_GRAM || word.length() > MOBILE_MAX_GRAM) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> words = new ArrayList<>();
+        try (TokenStream stream = textAnalyzer.tokenStream(RECEIVER_NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                words.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private static BookingSummary toSummary(Document doc) {
+        String customerId = doc.get(CUSTOMER_ID);
+        String cost = doc.get(COST);
+        String status = doc.get(STATUS);
+        String createdAt = doc.get(CREATED_AT);
+        return new BookingSummary(
+            Long.valueOf(doc.get(PK)),
+            doc.get(BOOKING_ID),
+            customerId != null ? Long.valueOf(customerId) : null,
+            doc.get(CUSTOMER_NAME),
+            doc.get(RECEIVER_NAME),
+            doc.get(RECEIVER_ADDRESS),
+            cost != null ? new BigDecimal(cost) : null,
+            status != null ? ParcelStatus.valueOf(status) : null,
+            createdAt != null ? LocalDateTime.parse(createdAt) : null
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfOutOfSync() throws IOException {
+        long bookings = bookingRepository.count();
+        long documents = writer.getDocStats().numDocs;
+        if (bookings == documents) {
+            return;
+        }
+        log.info("Booking search index has {} documents for {} bookings; rebuilding", documents, bookings);
+        writer.deleteAll();
+        long afterId = Long.MIN_VALUE;
+        List<Booking> batch;
+        while (!(batch = bookingRepository.findWithCustomerAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE))).isEmpty()) {
+            for (Booking booking : batch) {
+                writer.addDocument(toDocument(booking));
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        writer.commit();
+        searcherManager.maybeRefresh();
+        log.info("Booking search index rebuilt with {} documents", writer.getDocStats().numDocs);
+    }
+
+    // Searches see new documents right away (near-real-time); commits only make them durable
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:30000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to commit booking search index", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.courier.service;
+
+import com.courier.model.Booking;
+import com.courier.model.BookingIdSuffix;
+import com.courier.repository.BookingIdSuffixRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maintains the booking-ID suffix table (see {@link BookingIdSuffix}) that backs
+ * partial booking-ID search. BookingService indexes new bookings in the same
+ * transaction that inserts them; rows from before the table existed are backfilled
+ * once the application has started.
+ */
+@Component
+public class BookingIdSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingIdSearchIndex.class);
+
+    // Shorter fragments match too many bookings to be worth an index lookup
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Autowired
+    private BookingIdSuffixRepository suffixRepository;
+
+    /**
+     * Add suffix rows for bookings that were just saved (their ids must be assigned).
+     */
+    public void index(List<Booking> bookings) {
+        List<BookingIdSuffix> rows = new ArrayList<>();
+        for (Booking booking : bookings) {
+            for (String suffix : suffixes(booking.getBookingId())) {
+                rows.add(new BookingIdSuffix(suffix, booking.getId()));
+            }
+        }
+        suffixRepository.saveAll(rows);
+    }
+
+    /**
+     * Turn a typed fragment into a LIKE prefix pattern over the suffix column.
+     * Only letters and digits are kept, so user input can never add wildcards.
+     *
+     * @throws IllegalArgumentException if fewer than MIN_QUERY_LENGTH characters remain
+     */
+    public static String toPrefixPattern(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException(
+                "Booking ID search needs at least " + MIN_QUERY_LENGTH + " letters or digits");
+        }
+        return normalized + "%";
+    }
+
+    static List<String> suffixes(String bookingId) {
+        if (bookingId == null) {
+            return Collections.emptyList();
+        }
+        String normalized = normalize(bookingId);
+        List<String> suffixes = new ArrayList<>();
+        for (int start = 0; start + MIN_QUERY_LENGTH <= normalized.length(); start++) {
+            suffixes.add(normalized.substring(start));
+        }
+        return suffixes;
+    }
+
+    private static String normalize(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toUpperCase(Locale.ROOT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long indexed = 0;
+        long afterId = Long.MIN_VALUE;
+        List<Object[]> rows;
+        while (!(rows = suffixRepository.findUnindexedBookings(afterId, PageRequest.of(0, BACKFILL_BATCH_SIZE))).isEmpty()) {
+            List<BookingIdSuffix> suffixRows = new ArrayList<>();
+            for (Object[] row : rows) {
+                Long bookingPk = (Long) row[0];
+                for (String suffix : suffixes((String) row[1])) {
+                    suffixRows.add(new BookingIdSuffix(suffix, bookingPk));
+                }
+            }
+            suffixRepository.saveAll(suffixRows);
+            indexed += rows.size();
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        if (indexed > 0) {
+            log.info("Indexed booking IDs of {} existing bookings for search", indexed);
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.courier.service;
+
+import com.courier.dto.BookingImportReport;
+import com.courier.dto.BookingRequest;
+import com.courier.model.Booking;
+import com.courier.model.Customer;
+import com.courier.model.DeliveryType;
+import com.courier.model.PackingPreference;
+import com.courier.model.ParcelStatus;
+import com.courier.util.CostCalculator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bulk import of officer bookings from CSV or XLSX uploads.
+ *
+ * Files are read row by row (a BufferedReader for CSV, the POI SAX event API for
+ * XLSX), and valid rows are saved in fixed-size batches, each in its own
+ * transaction. Only the current batch and the capped error list are held in
+ * memory, so large files do not grow the heap.
+ *
+ * The first row is a header naming the BookingRequest fields; column order is
+ * free and matching ignores case, spaces and underscores. Each row is validated
+ * against the BookingRequest constraints and priced like a single officer booking.
+ */
+@Service
+public class BookingImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingImportService.class);
+
+    private static final String[] REQUIRED_COLUMNS = {
+        "receiverName", "receiverAddress", "receiverPin", "receiverMobile",
+        "parcelWeightInGram", "parcelContentsDescription", "parcelDeliveryType", "parcelPackingPreference"
+    };
+
+    // Guards against an unterminated quote swallowing the rest of a CSV file
+    private static final int MAX_CSV_FIELD_LENGTH = 10_000;
+
+    private static final DateTimeFormatter SPACED_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${booking.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${booking.import.max-errors:1000}")
+    private int maxErrors;
+
+    public BookingImportReport importBookings(MultipartFile file, Customer officer) {
+        String fileName = file.getOriginalFilename() != null
+            ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        ImportRun run = new ImportRun(officer);
+        try {
+            if (fileName.endsWith(".csv")) {
+                readCsv(file, run);
+            } else if (fileName.endsWith(".xlsx")) {
+                readXlsx(file, run);
+            } else {
+                return new BookingImportReport(false, "Only .csv and .xlsx files are supported");
+            }
+            run.flush();
+        } catch (Exception e) {
+            ImportFormatException formatError = findFormatError(e);
+            if (formatError != null) {
+                run.flush();
+                return run.finish(false, formatError.getMessage());
+            }
+            log.error("Booking import failed after {} rows", run.report.getTotalRows(), e);
+            run.flush();
+            return run.finish(false, "Import stopped: " + e.getMessage());
+        }
+        return run.finish(true, "Imported " + run.report.getImportedRows() + " of "
+            + run.report.getTotalRows() + " rows");
+    }
+
+    // The SAX parser may wrap exceptions thrown from the row handler
+    private static ImportFormatException findFormatError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ImportFormatException formatError) {
+                return formatError;
+            }
+        }
+        return null;
+    }
+
+    private void readCsv(MultipartFile file, ImportRun run) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            int rowNumber = 0;
+            List<String> record;
+            while ((record = readCsvRecord(reader)) != null) {
+                run.row(++rowNumber, record);
+            }
+        }
+    }
+
+    /**
+     * Read one RFC 4180 record: comma separated, optional double quotes, "" as an
+     * escaped quote, and quoted fields may span lines.
+     *
+     * @return The record's fields, or null at end of input
+     */
+    private static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            if (field.length() > MAX_CSV_FIELD_LENGTH || (line = reader.readLine()) == null) {
+                throw new ImportFormatException("Unterminated quoted field in CSV");
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Stream the first sheet through the SAX-based XSSF reader. The upload is
+     * copied to a temp file first because opening a package from a stream
+     * would buffer the whole zip in memory.
+     */
+    private void readXlsx(MultipartFile file, ImportRun run) throws Exception {
+        Path tempFile = Files.createTempFile("booking-import-", ".xlsx");
+        try {
+            file.transferTo(tempFile);
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                XSSFReader xssfReader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                StylesTable styles = xssfReader.getStylesTable();
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    throw new ImportFormatException("The workbook has no sheets");
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, null, strings, new SheetRowHandler(run), new DataFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Collects the cells of each sheet row into a list and hands it to the import run.
+     * Empty cells are skipped by POI, so gaps are filled from the cell reference.
+     */
+    private static class SheetRowHandler implements SheetContentsHandler {
+        private final ImportRun run;
+        private final List<String> cells = new ArrayList<>();
+
+        SheetRowHandler(ImportRun run) {
+            this.run = run;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            run.row(rowNum + 1, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue);
+        }
+    }
+
+    /**
+     * State of one import: header mapping, the pending batch and the report.
+     */
+    private class ImportRun {
+        private final Customer officer;
+        private final BookingImportReport report = new BookingImportReport();
+        private final List<Booking> batch = new ArrayList<>();
+        private final List<Integer> batchRows = new ArrayList<>();
+        private Map<String, Integer> columns;
+
+        ImportRun(Customer officer) {
+            this.officer = officer;
+        }
+
+        void row(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                readHeader(cells);
+                return;
+            }
+            if (cells.stream().allMatch(cell -> cell == null || cell.isBlank())) {
+                return;
+            }
+            report.setTotalRows(report.getTotalRows() + 1);
+
+            Booking booking;
+            try {
+                booking = toBooking(toRequest(cells));
+            } catch (IllegalArgumentException e) {
+                fail(rowNumber, e.getMessage());
+                return;
+            }
+            batch.add(booking);
+            batchRows.add(rowNumber);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void readHeader(List<String> cells) {
+            columns = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String name = normalize(cells.get(i));
+                if (!name.isEmpty()) {
+                    columns.putIfAbsent(name, i);
+                }
+            }
+            List<String> missing = new ArrayList<>();
+            for (String required : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(normalize(required))) {
+                    missing.add(required);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new ImportFormatException("Missing columns in header row: " + String.join(", ", missing));
+            }
+        }
+
+        private BookingRequest toRequest(List<String> cells) {
+            BookingRequest request = new BookingRequest();
+            request.setReceiverName(value(cells, "receiverName"));
+            request.setReceiverAddress(value(cells, "receiverAddress"));
+            request.setReceiverPin(value(cells, "receiverPin"));
+            request.setReceiverMobile(value(cells, "receiverMobile"));
+            request.setParcelWeightInGram(parseWeight(value(cells, "parcelWeightInGram")));
+            request.setParcelContentsDescription(value(cells, "parcelContentsDescription"));
+            request.setParcelDeliveryType(parseEnum(DeliveryType.class, "parcelDeliveryType",
+                value(cells, "parcelDeliveryType")));
+            request.setParcelPackingPreference(parseEnum(PackingPreference.class, "parcelPackingPreference",
+                value(cells, "parcelPackingPreference")));
+            request.setParcelPickupTime(parseDateTime("parcelPickupTime", value(cells, "parcelPickupTime")));
+            request.setParcelDropoffTime(parseDateTime("parcelDropoffTime", value(cells, "parcelDropoffTime")));
+
+            Set<ConstraintViolation<BookingRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                Set<String> messages = new TreeSet<>();
+                for (ConstraintViolation<BookingRequest> violation : violations) {
+                    messages.add(violation.getMessage());
+                }
+                throw new IllegalArgumentException(String.join("; ", messages));
+            }
+            return request;
+        }
+
+        private Booking toBooking(BookingRequest request) {
+            double serviceCost = CostCalculator.calculateServiceCost(
+                request.getParcelWeightInGram(),
+                request.getParcelDeliveryType(),
+                request.getParcelPackingPreference(),
+                true // officer bookings include the admin fee
+            );
+
+            Booking booking = new Booking();
+            booking.setCustomer(officer);
+            booking.setReceiverName(request.getReceiverName());
+            booking.setReceiverAddress(request.getReceiverAddress());
+            booking.setReceiverMobile(request.getReceiverMobile());
+            booking.setParcelWeightInGram(request.getParcelWeightInGram());
+            booking.setParcelContentsDescription(request.getParcelContentsDescription());
+            booking.setParcelDeliveryType(request.getParcelDeliveryType());
+            booking.setParcelPackingPreference(request.getParcelPackingPreference());
+            booking.setParcelPickupTime(request.getParcelPickupTime());
+            booking.setParcelDropoffTime(request.getParcelDropoffTime());
+            booking.setParcelServiceCost(BigDecimal.valueOf(serviceCost));
+            booking.setParcelStatus(ParcelStatus.BOOKED);
+            return booking;
+        }
+
+        /**
+         * Save the pending batch in one transaction. If the batch is rejected,
+         * retry its rows one by one so only the offending rows are reported.
+         * importBatch detaches the saved entities, so once the batch list is
+         * cleared nothing from it stays reachable.
+         */
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                report.setImportedRows(report.getImportedRows() + bookingService.importBatch(batch));
+            } catch (Exception batchFailure) {
+                log.warn("Import batch of {} rows failed, retrying row by row: {}", batch.size(), batchFailure.getMessage());
+                for (int i = 0; i < batch.size(); i++) {
+                    Booking booking = batch.get(i);
+                    booking.setId(null);
+                    try {
+                        report.setImportedRows(report.getImportedRows()
+                            + bookingService.importBatch(Collections.singletonList(booking)));
+                    } catch (Exception e) {
+                        fail(batchRows.get(i), "Could not save booking: " + e.getMessage());
+                    }
+                }
+            }
+            batch.clear();
+            batchRows.clear();
+        }
+
+        private void fail(int rowNumber, String message) {
+            report.setFailedRows(report.getFailedRows() + 1);
+            if (report.getErrors().size() < maxErrors) {
+                report.getErrors().add(new BookingImportReport.RowError(rowNumber, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+
+        BookingImportReport finish(boolean success, String message) {
+            report.setSuccess(success);
+            report.setMessage(message);
+            return report;
+        }
+
+        private String value(List<String> cells, String column) {
+            Integer index = columns.get(normalize(column));
+            if (index == null || index >= cells.size() || cells.get(index) == null) {
+                return null;
+            }
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private static String normalize(String header) {
+        if (header == null) {
+            return "";
+        }
+        return header.replace("\uFEFF", "").replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Integer parseWeight(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value).intValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid parcelWeightInGram '" + value + "'");
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+        }
+    }
+
+    /**
+     * Accepts ISO-8601 ("2024-05-01T10:30") or "yyyy-MM-dd HH:mm[:ss]".
+     */
+    private static LocalDateTime parseDateTime(String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.indexOf('T') > 0
+                ? LocalDateTime.parse(value)
+                : LocalDateTime.parse(value, SPACED_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+        }
+    }
+
+    /**
+     * The file as a whole cannot be imported (bad header, broken CSV quoting).
+     */
+    private static class ImportFormatException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ImportFormatException(String message) {
+            super(message);
+        }
+    }
+}
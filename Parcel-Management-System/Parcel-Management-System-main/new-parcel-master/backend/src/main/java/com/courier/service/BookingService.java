@@ -1,37 +1,136 @@
 package com.courier.service;
 
+import com.courier.dto.BookingDetails;
 import com.courier.dto.BookingPage;
+import com.courier.dto.BookingSummary;
+import com.courier.dto.ParcelStatusEvent;
 import com.courier.model.Booking;
+import com.courier.model.ParcelStatus;
 import com.courier.repository.BookingRepository;
+import com.courier.util.BookingCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
 
 @Service
 public class BookingService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookingCountCache bookingCountCache;
+
+    @Autowired
+    private BookingIdSearchIndex bookingIdSearchIndex;
+
+    @Autowired
+    private BookingFullTextIndex bookingFullTextIndex;
+
+    @Autowired
+    private BookingCache bookingCache;
+
+    @Autowired
+    private ParcelStatusNotifier parcelStatusNotifier;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
     public Booking createBooking(Booking booking) {
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        bookingIdSearchIndex.index(Collections.singletonList(saved));
+        bookingFullTextIndex.indexAfterCommit(Collections.singletonList(saved));
+        return saved;
+    }
+
+    /**
+     * Save many bookings in one transaction. With sequence ids and
+     * hibernate.jdbc.batch_size set, the inserts go out as JDBC batches.
+     */
+    @Transactional
+    public List<Booking> createBookings(List<Booking> bookings) {
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        bookingIdSearchIndex.index(saved);
+        bookingFullTextIndex.indexAfterCommit(saved);
+        return saved;
+    }
+
+    /**
+     * Save one bulk-import batch, then detach everything it made managed.
+     *
+     * With open-session-in-view all transactions of a request share the request's
+     * persistence context, so without the clear every imported booking and its
+     * suffix rows would stay in memory until the upload finishes.
+     *
+     * @return Number of bookings saved
+     */
+    @Transactional
+    public int importBatch(List<Booking> bookings) {
+        int saved = createBookings(bookings).size();
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
     }
 
     public Booking getBookingById(String bookingId) {
         try {
-            return bookingRepository.findByBookingId(bookingId).orElse(null);
+            return bookingCache.get(bookingId);
         } catch (Exception e) {
             return null;
         }
     }
 
+    /**
+     * Tracking view of a booking, built from the cached snapshot
+     */
+    public BookingDetails getBookingDetails(String bookingId) {
+        Booking booking = getBookingById(bookingId);
+        return booking != null ? BookingDetails.from(booking) : null;
+    }
+
+    /**
+     * Save changes to an existing booking, refresh the cache and search index,
+     * and push a status event if the parcel status changed.
+     */
     public Booking updateBooking(Booking booking) {
+        ParcelStatus previousStatus = currentStatus(booking);
+        Booking saved;
+        try {
+            saved = bookingRepository.save(booking);
+        } catch (Exception e) {
+            bookingCache.invalidate(booking.getBookingId());
+            return null;
+        }
+        bookingCache.put(saved);
+        bookingFullTextIndex.indexAfterCommit(Collections.singletonList(saved));
+        if (saved.getParcelStatus() != previousStatus) {
+            parcelStatusNotifier.publish(new ParcelStatusEvent(saved.getBookingId(),
+                saved.getCustomer() != null ? saved.getCustomer().getId() : null,
+                previousStatus, saved.getParcelStatus(), saved.getUpdatedAt()));
+        }
+        return saved;
+    }
+
+    // Stored status before an update: from the cached snapshot when present, else one column from the row
+    private ParcelStatus currentStatus(Booking booking) {
+        ParcelStatus cached = bookingCache.peekStatus(booking.getBookingId());
+        if (cached != null || booking.getId() == null) {
+            return cached;
+        }
         try {
-            return bookingRepository.save(booking);
+            return bookingRepository.findStatusById(booking.getId()).orElse(null);
         } catch (Exception e) {
             return null;
         }
@@ -39,7 +138,7 @@ public class BookingService {
 
     public BookingPage getCustomerBookingsPaginated(Long customerId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Booking> bookingPage = bookingRepository.findByCustomerIdOrderByCreatedAtDesc(customerId, pageable);
+        Page<BookingSummary> bookingPage = bookingRepository.findSummariesByCustomer(customerId, pageable);
         
         return new BookingPage(
             bookingPage.getContent(),
@@ -52,7 +151,7 @@ public class BookingService {
 
     public BookingPage getAllBookingsPaginated(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Booking> bookingPage = bookingRepository.findAllByOrderByCreatedAtDesc(pageable);
+        Page<BookingSummary> bookingPage = bookingRepository.findSummaries(pageable);
         
         return new BookingPage(
             bookingPage.getContent(),
@@ -63,6 +162,115 @@ public class BookingService {
         );
     }
 
+    /**
+     * Offset page without a COUNT query; the totals are approximate (see BookingCountCache)
+     */
+    public BookingPage getAllBookingsSlice(int page, int size) {
+        Slice<BookingSummary> slice = bookingRepository.findSummarySlice(PageRequest.of(page, size));
+        BookingPage bookingPage = new BookingPage(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), null);
+        bookingPage.applyApproximateTotal(bookingCountCache.countAll());
+        return bookingPage;
+    }
+
+    /**
+     * Offset page of one customer's bookings without a COUNT query; the totals are approximate
+     */
+    public BookingPage getCustomerBookingsSlice(Long customerId, int page, int size) {
+        Slice<BookingSummary> slice = bookingRepository.findSummarySliceByCustomer(customerId, PageRequest.of(page, size));
+        BookingPage bookingPage = new BookingPage(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), null);
+        bookingPage.applyApproximateTotal(bookingCountCache.countForCustomer(customerId));
+        return bookingPage;
+    }
+
+    /**
+     * Keyset page of all bookings, newest first. Costs the same at any depth:
+     * the query seeks past the cursor on (createdAt, id) instead of skipping rows.
+     *
+     * @param cursor nextCursor from the previous page, or null/empty for the first page
+     */
+    public BookingPage getAllBookingsAfterCursor(String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1); // one extra row tells us whether there is a next page
+        List<BookingSummary> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = bookingRepository.findNewest(limit);
+        } else {
+            BookingCursor position = BookingCursor.decode(cursor);
+            rows = bookingRepository.findNewestBefore(position.getCreatedAt(), position.getId(), limit);
+        }
+        BookingPage bookingPage = toKeysetPage(rows, pageSize);
+        bookingPage.applyApproximateTotal(bookingCountCache.countAll());
+        return bookingPage;
+    }
+
+    /**
+     * Keyset page of one customer's bookings, newest first
+     *
+     * @param cursor nextCursor from the previous page, or null/empty for the first page
+     */
+    public BookingPage getCustomerBookingsAfterCursor(Long customerId, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<BookingSummary> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = bookingRepository.findNewestByCustomer(customerId, limit);
+        } else {
+            BookingCursor position = BookingCursor.decode(cursor);
+            rows = bookingRepository.findNewestByCustomerBefore(
+                customerId, position.getCreatedAt(), position.getId(), limit);
+        }
+        BookingPage bookingPage = toKeysetPage(rows, pageSize);
+        bookingPage.applyApproximateTotal(bookingCountCache.countForCustomer(customerId));
+        return bookingPage;
+    }
+
+    /**
+     * Filtered booking list, newest first. A bookingIdQuery (any part of a booking ID)
+     * is answered from the booking-ID suffix index; without one, status is required.
+     *
+     * @param customerId limit to one customer's bookings, or null for all bookings (officers)
+     * @throws IllegalArgumentException if bookingIdQuery is too short, or neither filter is given
+     */
+    public BookingPage searchBookings(Long customerId, String bookingIdQuery, ParcelStatus status, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), clampPageSize(size));
+        Page<BookingSummary> result;
+        if (bookingIdQuery != null && !bookingIdQuery.isBlank()) {
+            result = bookingRepository.searchByBookingId(
+                customerId, BookingIdSearchIndex.toPrefixPattern(bookingIdQuery), status, pageable);
+        } else if (status != null) {
+            result = bookingRepository.findByCustomerIdAndFilters(customerId, status, pageable);
+        } else {
+            throw new IllegalArgumentException("Give a booking ID or a status to search by");
+        }
+        return new BookingPage(
+            result.getContent(),
+            result.getTotalElements(),
+            result.getTotalPages(),
+            result.getNumber(),
+            result.getSize()
+        );
+    }
+
+    /**
+     * Ranked full-text search over receiver name, address, mobile and parcel contents,
+     * answered from the embedded search index without a database query
+     */
+    public BookingPage searchBookingText(String query, int page, int size) {
+        return bookingFullTextIndex.search(query, Math.max(page, 0), clampPageSize(size));
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static BookingPage toKeysetPage(List<BookingSummary> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new BookingPage(rows, -1, pageSize, false, null);
+        }
+        List<BookingSummary> content = new ArrayList<>(rows.subList(0, pageSize));
+        return new BookingPage(content, -1, pageSize, true, BookingCursor.encode(content.get(pageSize - 1)));
+    }
+
     public List<Booking> getAllBookings() {
         try {
             return bookingRepository.findAll();
@@ -1,6 +1,8 @@
 package com.courier.service;
 
 import com.courier.model.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -14,33 +16,30 @@ import java.util.Collections;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
     @Autowired
     private AuthService authService;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        System.out.println("=== CustomUserDetailsService.loadUserByUsername ===");
-        System.out.println("Loading user details for email: " + email);
-        
         try {
             Customer customer = authService.getCustomerByEmail(email);
             
             if (customer == null) {
-                System.out.println("Customer not found for email: " + email);
+                log.debug("Customer not found for email {}", email);
                 throw new UsernameNotFoundException("Customer not found with email: " + email);
             }
             
-            System.out.println("Found customer: " + customer.getCustomerName());
-            System.out.println("Customer role: " + customer.getRole());
-            
             return new User(
                 customer.getEmail(),
                 customer.getPassword(),
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + customer.getRole()))
             );
+        } catch (UsernameNotFoundException e) {
+            throw e;
         } catch (Exception e) {
-            System.out.println("Error loading user details: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error loading user details for {}", email, e);
             throw new UsernameNotFoundException("Error loading user details", e);
         }
     }
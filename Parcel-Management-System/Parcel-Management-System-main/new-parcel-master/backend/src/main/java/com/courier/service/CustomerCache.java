@@ -0,0 +1,97 @@
+package com.courier.service;
+
+import com.courier.model.Customer;
+import com.courier.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, expiring cache of customers keyed by email and by id.
+ *
+ * Almost every authenticated endpoint looks up the caller by email, while customer
+ * rows change rarely. Entries are evicted by size and TTL, and every save through
+ * AuthService invalidates both keys. Misses are not cached, so a newly registered
+ * customer is visible immediately.
+ *
+ * Each cache only ever fills itself. An invalidation waits for an in-flight load of
+ * the same key, so it always wins; a loader that also wrote into the other cache
+ * could re-insert a stale customer after the save had invalidated it.
+ */
+@Component
+public class CustomerCache {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Value("${cache.customer.max-size:10000}")
+    private long maxSize;
+
+    @Value("${cache.customer.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, Customer> byEmail;
+    private Cache<Long, Customer> byId;
+
+    @PostConstruct
+    void init() {
+        this.byEmail = newCache();
+        this.byId = newCache();
+    }
+
+    private <K> Cache<K, Customer> newCache() {
+        return Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+
+    public Customer getByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        return byEmail.get(email, key -> customerRepository.findByEmail(key).orElse(null));
+    }
+
+    public Customer getById(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return byId.get(id, key -> customerRepository.findById(key).orElse(null));
+    }
+
+    /**
+     * Drop every cached entry for this customer. Call after any save.
+     */
+    public void invalidate(Customer customer) {
+        if (customer.getId() != null) {
+            byId.invalidate(customer.getId());
+        }
+        if (customer.getEmail() != null) {
+            byEmail.invalidate(customer.getEmail());
+        }
+    }
+
+    public Cache<String, Customer> getByEmailCache() {
+        return byEmail;
+    }
+
+    public Cache<Long, Customer> getByIdCache() {
+        return byId;
+    }
+
+    /**
+     * @return Combined hit ratio of both caches since startup
+     */
+    public double getHitRatio() {
+        CacheStats stats = byEmail.stats().plus(byId.stats());
+        return stats.hitRate();
+    }
+}
@@ -0,0 +1,178 @@
+package com.courier.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Honors the Idempotency-Key header on endpoints that create things.
+ *
+ * The first request for a key registers a future in a bounded, expiring Caffeine
+ * map and runs the action. Retries with the same key get the stored response,
+ * marked with "Idempotent-Replayed: true", and concurrent duplicates wait on the
+ * in-flight future instead of running the action again. 5xx and 429 responses,
+ * and thrown exceptions, are not kept, so those requests can be retried.
+ *
+ * Each entry also keeps a SHA-256 digest of the request body. Reusing a key with a
+ * different body is a client bug, answered with 422 instead of a replay.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.max-entries:100000}")
+    private long maxEntries;
+
+    @Value("${idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    private Cache<String, Entry> responses;
+
+    @PostConstruct
+    void init() {
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Run the action at most once per (scope, key).
+     *
+     * @param scope Endpoint and caller, so keys from different users never collide
+     * @param idempotencyKey Client-supplied key; null or blank runs the action normally
+     * @param requestBody Request body; a repeated key must come with an equal body
+     * @param responseType Body type of the action's response, to type a replayed body
+     * @param action Produces the response for the first request
+     * @return The action's response, or the stored one for a repeated key
+     * @throws ResponseStatusException 422 when the key was first used with a different body
+     */
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object requestBody,
+                                         Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                IDEMPOTENCY_KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = scope + '|' + idempotencyKey;
+        byte[] fingerprint = fingerprint(requestBody);
+        while (true) {
+            Entry pending = new Entry(fingerprint, new CompletableFuture<>());
+            Entry existing = responses.asMap().putIfAbsent(cacheKey, pending);
+            if (existing == null) {
+                return runFirst(cacheKey, pending, action);
+            }
+            if (!Arrays.equals(existing.fingerprint, fingerprint)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used with a different request body");
+            }
+            ResponseEntity<?> stored = awaitExisting(existing.response);
+            if (stored != null) {
+                return replayed(stored, responseType);
+            }
+            // The first attempt threw and removed its entry; this request takes over
+        }
+    }
+
+    private byte[] fingerprint(Object requestBody) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(requestBody));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint the request body", e);
+        }
+    }
+
+    private <T> ResponseEntity<T> runFirst(String cacheKey, Entry pending, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            responses.asMap().remove(cacheKey, pending);
+            pending.response.completeExceptionally(e);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()
+                || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            responses.asMap().remove(cacheKey, pending);
+        }
+        pending.response.complete(response);
+        return response;
+    }
+
+    /**
+     * @return The stored response, or null if the first attempt failed with an exception
+     */
+    private ResponseEntity<?> awaitExisting(CompletableFuture<ResponseEntity<?>> existing) {
+        try {
+            return existing.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+        }
+    }
+
+    // Scopes name the endpoint, so the stored body has the caller's type; the checked
+    // cast would only fail if two endpoints shared a scope
+    private static <T> ResponseEntity<T> replayed(ResponseEntity<?> stored, Class<T> responseType) {
+        return ResponseEntity.status(stored.getStatusCode())
+            .headers(headers -> {
+                headers.addAll(stored.getHeaders());
+                headers.set(REPLAYED_HEADER, "true");
+            })
+            .body(responseType.cast(stored.getBody()));
+    }
+
+    public Cache<String, Entry> getCache() {
+        return responses;
+    }
+
+    /**
+     * Request digest and the (possibly still pending) response stored for one key.
+     */
+    public static final class Entry {
+        private final byte[] fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> response;
+
+        private Entry(byte[] fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+    }
+}
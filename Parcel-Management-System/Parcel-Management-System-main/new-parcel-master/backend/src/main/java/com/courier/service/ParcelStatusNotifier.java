@@ -0,0 +1,259 @@
+package com.courier.service;
+
+import com.courier.dto.ParcelStatusEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent event streams of parcel status changes, per booking and per customer.
+ *
+ * An idle subscriber costs one SseEmitter and one set entry. Nothing is buffered per
+ * subscriber. Streams are capped in total and per booking or customer, and they
+ * time out so that clients reconnect. Publishing only hands the event to a small
+ * fan-out pool, so the request that changed the status never waits on slow clients.
+ * When that pool is saturated the event is dropped, and clients can still fall back
+ * to GET /api/tracking.
+ */
+@Component
+public class ParcelStatusNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(ParcelStatusNotifier.class);
+
+    public static final String STATUS_EVENT = "status";
+
+    @Value("${sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${sse.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${sse.max-subscribers-per-key:5}")
+    private int maxSubscribersPerKey;
+
+    @Value("${sse.fanout-threads:2}")
+    private int fanoutThreads;
+
+    @Value("${sse.fanout-queue-capacity:1000}")
+    private int fanoutQueueCapacity;
+
+    private final Map<String, Set<Subscription>> byBooking = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscription>> byCustomer = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private ThreadPoolExecutor fanoutExecutor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.fanoutExecutor = new ThreadPoolExecutor(
+            fanoutThreads, fanoutThreads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(fanoutQueueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "sse-fanout-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanoutExecutor.shutdownNow();
+        closeAll(byBooking);
+        closeAll(byCustomer);
+    }
+
+    /**
+     * Open a stream of status changes for one booking. The caller must already have
+     * checked that the user may see it.
+     *
+     * @throws ResponseStatusException 503 when the server is at its stream limit, 429 when this booking is
+     */
+    public SseEmitter subscribeToBooking(String bookingId) {
+        return subscribe(byBooking, bookingId);
+    }
+
+    /**
+     * Open a stream of status changes for all of a customer's bookings.
+     *
+     * @throws ResponseStatusException 503 when the server is at its stream limit, 429 when this customer is
+     */
+    public SseEmitter subscribeToCustomer(Long customerId) {
+        return subscribe(byCustomer, customerId);
+    }
+
+    private <K> SseEmitter subscribe(Map<K, Set<Subscription>> registry, K key) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open status streams");
+        }
+        Subscription subscription = new Subscription(new SseEmitter(timeoutMs));
+        AtomicBoolean added = new AtomicBoolean();
+        registry.compute(key, (k, set) -> {
+            Set<Subscription> current = set != null ? set : ConcurrentHashMap.newKeySet();
+            if (current.size() < maxSubscribersPerKey) {
+                current.add(subscription);
+                added.set(true);
+            }
+            return current.isEmpty() ? null : current;
+        });
+        if (!added.get()) {
+            subscribers.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many open streams for this subscription");
+        }
+
+        Runnable remove = () -> unsubscribe(registry, key, subscription);
+        subscription.emitter.onCompletion(remove);
+        subscription.emitter.onTimeout(remove);
+        subscription.emitter.onError(e -> remove.run());
+        return subscription.emitter;
+    }
+
+    /**
+     * Close a booking stream the caller will not hand to Spring MVC after all. An emitter
+     * completed before MVC takes it over never runs its completion callbacks, so the
+     * subscription has to be released here.
+     */
+    public void cancelBookingSubscription(String bookingId, SseEmitter emitter) {
+        Set<Subscription> set = byBooking.get(bookingId);
+        if (set != null) {
+            for (Subscription subscription : set) {
+                if (subscription.emitter == emitter) {
+                    unsubscribe(byBooking, bookingId, subscription);
+                }
+            }
+        }
+        emitter.complete();
+    }
+
+    private <K> void unsubscribe(Map<K, Set<Subscription>> registry, K key, Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.decrementAndGet();
+        // Drop the set with its last subscriber so idle keys take no memory
+        registry.computeIfPresent(key, (k, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Send a status change to everyone following the booking or its customer.
+     * Returns immediately; delivery happens on the fan-out pool.
+     */
+    public void publish(ParcelStatusEvent event) {
+        List<Runnable> sends = new ArrayList<>();
+        collect(byBooking, event.getBookingId(), event, sends);
+        collect(byCustomer, event.getCustomerId(), event, sends);
+        if (sends.isEmpty()) {
+            return;
+        }
+        try {
+            fanoutExecutor.execute(() -> sends.forEach(Runnable::run));
+        } catch (RejectedExecutionException e) {
+            droppedEvents.incrementAndGet();
+            log.warn("Status stream fan-out is saturated; dropped {} for booking {}", event.getStatus(), event.getBookingId());
+        }
+    }
+
+    private <K> void collect(Map<K, Set<Subscription>> registry, K key, ParcelStatusEvent event, List<Runnable> sends) {
+        if (key == null) {
+            return;
+        }
+        Set<Subscription> set = registry.get(key);
+        if (set == null) {
+            return;
+        }
+        for (Subscription subscription : set) {
+            sends.add(() -> send(registry, key, subscription,
+                SseEmitter.event().name(STATUS_EVENT).data(event, MediaType.APPLICATION_JSON)));
+        }
+    }
+
+    // Comments keep proxies from closing idle streams and reveal clients that have gone away
+    @Scheduled(fixedDelayString = "${sse.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        if (subscribers.get() == 0) {
+            return;
+        }
+        try {
+            fanoutExecutor.execute(() -> {
+                heartbeat(byBooking);
+                heartbeat(byCustomer);
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipped status stream heartbeat; fan-out pool is saturated");
+        }
+    }
+
+    private <K> void heartbeat(Map<K, Set<Subscription>> registry) {
+        registry.forEach((key, set) -> {
+            for (Subscription subscription : set) {
+                send(registry, key, subscription, SseEmitter.event().comment("keep-alive"));
+            }
+        });
+    }
+
+    private <K> void send(Map<K, Set<Subscription>> registry, K key, Subscription subscription,
+                          SseEmitter.SseEventBuilder event) {
+        if (subscription.closed.get()) {
+            return;
+        }
+        try {
+            subscription.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container will also report it, but stop writing now
+            unsubscribe(registry, key, subscription);
+            subscription.emitter.complete();
+        }
+    }
+
+    private <K> void closeAll(Map<K, Set<Subscription>> registry) {
+        registry.values().forEach(set -> set.forEach(subscription -> subscription.emitter.complete()));
+        registry.clear();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -8,40 +8,49 @@ import com.courier.model.Payment;
 import com.courier.model.TransactionStatus;
 import com.courier.model.TransactionType;
 import com.courier.repository.PaymentRepository;
+import com.courier.util.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
-import java.util.UUID;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class PaymentService {
 
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
+
     @Autowired
     private PaymentRepository paymentRepository;
 
     @Autowired
     private PdfService pdfService;
 
+    /**
+     * Charge the card and record the payment.
+     *
+     * @throws IllegalArgumentException when the card is invalid or declined
+     */
     public Payment processPayment(Booking booking, PaymentRequest request) {
         // Validate card details (simplified validation)
         if (!isValidCardNumber(request.getCardNumber()) || 
             !isValidExpiryDate(request.getExpiryDate()) || 
             !isValidCVV(request.getCvv())) {
-            throw new RuntimeException("Invalid card details");
+            throw new IllegalArgumentException("Invalid card details");
         }
 
         // Check for demo error card (remove spaces for comparison)
         String cleanCardNumber = request.getCardNumber().replaceAll("\\s", "");
         if ("4000000000000002".equals(cleanCardNumber)) {
-            throw new RuntimeException("Insufficient funds");
+            throw new IllegalArgumentException("Insufficient funds");
         }
 
         Payment payment = new Payment();
         payment.setBooking(booking);
-        payment.setPaymentId("PAY" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-        payment.setTransactionId("TXN" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        payment.setPaymentId(IdGenerator.next("PAY"));
+        payment.setTransactionId(IdGenerator.next("TXN"));
         payment.setTransactionAmount(booking.getParcelServiceCost());
         payment.setTransactionDate(LocalDateTime.now());
         payment.setTransactionType(TransactionType.CREDIT);
@@ -53,7 +62,7 @@ public class PaymentService {
         
         // Verify the payment was saved correctly
         Payment verifiedPayment = paymentRepository.findByPaymentId(savedPayment.getPaymentId())
-            .orElseThrow(() -> new RuntimeException("Payment was not saved correctly"));
+            .orElseThrow(() -> new IllegalStateException("Payment was not saved correctly"));
         
         return savedPayment;
     }
@@ -135,23 +144,19 @@ public class PaymentService {
     public void listAllPayments() {
         try {
             List<Payment> payments = paymentRepository.findAll();
-            System.out.println("=== All Payments ===");
-            System.out.println("Total payments: " + payments.size());
+            log.info("Total payments: {}", payments.size());
             
             for (Payment payment : payments) {
-                System.out.println("Payment ID: " + payment.getPaymentId());
-                System.out.println("Transaction ID: " + payment.getTransactionId());
-                System.out.println("Amount: " + payment.getTransactionAmount());
-                System.out.println("Status: " + payment.getTransactionStatus());
-                System.out.println("Date: " + payment.getTransactionDate());
-                if (payment.getBooking() != null) {
-                    System.out.println("Booking ID: " + payment.getBooking().getBookingId());
-                }
-                System.out.println("---");
+                log.info("paymentId={} transactionId={} amount={} status={} date={} bookingId={}",
+                    payment.getPaymentId(),
+                    payment.getTransactionId(),
+                    payment.getTransactionAmount(),
+                    payment.getTransactionStatus(),
+                    payment.getTransactionDate(),
+                    payment.getBooking() != null ? payment.getBooking().getBookingId() : null);
             }
         } catch (Exception e) {
-            System.out.println("Error listing payments: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error listing payments", e);
         }
     }
 
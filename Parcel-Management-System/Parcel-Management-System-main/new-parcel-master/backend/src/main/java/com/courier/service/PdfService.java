@@ -11,6 +11,10 @@ import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.colors.ColorConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
@@ -19,7 +23,24 @@ import java.time.format.DateTimeFormatter;
 @Service
 public class PdfService {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer invoiceTimer;
+
+    @PostConstruct
+    void init() {
+        this.invoiceTimer = Timer.builder("courier.pdf.invoice")
+            .description("Invoice PDF rendering time")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
     public byte[] generateInvoicePdf(InvoiceData invoiceData) {
+        return invoiceTimer.record(() -> renderInvoicePdf(invoiceData));
+    }
+
+    private byte[] renderInvoicePdf(InvoiceData invoiceData) {
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
             PdfWriter writer = new PdfWriter(baos);
             PdfDocument pdf = new PdfDocument(writer);
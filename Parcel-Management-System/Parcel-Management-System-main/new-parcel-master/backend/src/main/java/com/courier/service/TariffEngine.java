@@ -0,0 +1,79 @@
+package com.courier.service;
+
+import com.courier.util.CostCalculator;
+import com.courier.util.TariffSnapshot;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Loads the rate table used by CostCalculator and reloads it when the file changes.
+ *
+ * With no tariff.file configured, the built-in defaults apply. Otherwise the file
+ * is polled for a new modification time or size. A new table is parsed completely
+ * before it is published, so requests see either the old snapshot or the new one.
+ * A file that fails to parse is logged and ignored, and the previous snapshot stays.
+ */
+@Service
+public class TariffEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TariffEngine.class);
+
+    @Value("${tariff.file:}")
+    private String tariffFile;
+
+    private FileTime loadedModifiedTime;
+    private long loadedSize = -1;
+
+    @PostConstruct
+    void init() {
+        if (tariffFile.isBlank()) {
+            log.info("Using built-in tariff");
+            return;
+        }
+        reloadIfChanged();
+    }
+
+    @Scheduled(fixedDelayString = "${tariff.reload-interval-ms:30000}")
+    public synchronized void reloadIfChanged() {
+        if (tariffFile.isBlank()) {
+            return;
+        }
+        Path path = Path.of(tariffFile);
+        try {
+            if (!Files.isRegularFile(path)) {
+                if (loadedSize != -2) {
+                    log.warn("Tariff file {} not found, keeping {}", path, CostCalculator.getTariff().getSource());
+                    loadedSize = -2;
+                }
+                return;
+            }
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            long size = Files.size(path);
+            if (modifiedTime.equals(loadedModifiedTime) && size == loadedSize) {
+                return;
+            }
+            loadedModifiedTime = modifiedTime;
+            loadedSize = size;
+
+            TariffSnapshot snapshot;
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                snapshot = TariffSnapshot.parse(reader, path.toString());
+            }
+            CostCalculator.setTariff(snapshot);
+            log.info("Loaded tariff from {} (modified {})", path, modifiedTime);
+        } catch (Exception e) {
+            log.error("Could not load tariff file {}, keeping {}: {}", path,
+                CostCalculator.getTariff().getSource(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.courier.service;
+
+import com.courier.config.AuthenticatedUser;
+import com.courier.util.BloomFilter;
+import com.courier.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list for JWTs.
+ *
+ * Two kinds of entries are kept: single tokens (by "jti", used on logout) and
+ * per-user cut-offs (every token issued up to a moment, used on password change).
+ * Both live only until the tokens they cover would have expired anyway.
+ *
+ * A Bloom filter sits in front of the maps. Almost every request carries a token
+ * that was never revoked, and for those the check is a few bit probes with no map
+ * lookup. Expired entries are purged on a schedule and the filter is rebuilt, since
+ * Bloom filters cannot delete.
+ */
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /** jti -> expiry of that token (epoch millis) */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /** userId -> tokens issued before this instant are revoked (epoch millis, whole seconds) */
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+
+    @PostConstruct
+    void init() {
+        this.bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Check whether the token behind this principal has been revoked.
+     * Lock-free; the common not-revoked case never touches the maps.
+     */
+    public boolean isRevoked(AuthenticatedUser user) {
+        BloomFilter filter = bloomFilter;
+
+        String tokenId = user.getTokenId();
+        if (tokenId != null && filter.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+
+        Long userId = user.getUserId();
+        if (userId != null && filter.mightContain(userId.longValue())) {
+            Long revokedBefore = revokedUsers.get(userId);
+            // Both sides are whole seconds, so a token issued right after the cut-off stays valid
+            return revokedBefore != null && user.getIssuedAtMillis() < revokedBefore;
+        }
+        return false;
+    }
+
+    /**
+     * Revoke the single token behind this principal (logout).
+     */
+    public synchronized void revokeToken(AuthenticatedUser user) {
+        if (user.getTokenId() == null) {
+            // Legacy token without an id; fall back to revoking the user's tokens
+            revokeAllForUser(user.getUserId());
+            return;
+        }
+        revokedTokens.put(user.getTokenId(), user.getExpiresAtMillis());
+        bloomFilter.put(user.getTokenId());
+    }
+
+    /**
+     * Revoke every token issued to a user before the current second (password change).
+     *
+     * The "iat" claim only has second precision, so the cut-off is truncated to whole
+     * seconds: a login right after the change must not be rejected. Tokens issued
+     * earlier within that same second survive; callers revoke the session that made
+     * the change by its jti as well.
+     */
+    public synchronized void revokeAllForUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        revokedUsers.put(userId, now - Math.floorMod(now, 1000L));
+        bloomFilter.put(userId.longValue());
+    }
+
+    /**
+     * Drop entries whose tokens have expired and rebuild the Bloom filter from
+     * what remains. Synchronized with the revoke methods so no new entry is lost
+     * between the rebuild and the swap.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long tokenLifetime = jwtUtil.getExpirationMillis();
+
+        boolean removedTokens = revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        boolean removedUsers = revokedUsers.values().removeIf(revokedAt -> revokedAt + tokenLifetime <= now);
+        if (!removedTokens && !removedUsers) {
+            return;
+        }
+
+        int size = revokedTokens.size() + revokedUsers.size();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, size * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        revokedUsers.keySet().forEach(userId -> rebuilt.put(userId.longValue()));
+        this.bloomFilter = rebuilt;
+    }
+}
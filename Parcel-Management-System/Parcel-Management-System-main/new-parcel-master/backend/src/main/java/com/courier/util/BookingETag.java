@@ -0,0 +1,56 @@
+package com.courier.util;
+
+import com.courier.model.Booking;
+import com.courier.model.Customer;
+import org.springframework.http.CacheControl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for conditional GETs on a single booking.
+ *
+ * A booking body also carries customer fields, so both updatedAt stamps go into the
+ * ETag and Last-Modified. Saving a customer drops its cached booking snapshots (see
+ * BookingCache), so the customer stamp is current rather than up to a TTL old.
+ * A ResponseEntity that carries them is answered with 304 by Spring MVC before the
+ * body is serialized, whenever If-None-Match or If-Modified-Since still matches.
+ */
+public final class BookingETag {
+
+    // Browsers may keep the body, but must revalidate before every reuse
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private BookingETag() {}
+
+    /**
+     * @return Strong, quoted ETag that changes whenever the booking or its customer is saved
+     */
+    public static String of(Booking booking) {
+        Customer customer = booking.getCustomer();
+        return "\"" + Long.toHexString(booking.getId() != null ? booking.getId() : 0L)
+            + "-" + Long.toHexString(stamp(booking.getUpdatedAt(), booking.getCreatedAt()))
+            + "-" + Long.toHexString(customer != null ? stamp(customer.getUpdatedAt(), customer.getCreatedAt()) : 0L)
+            + "\"";
+    }
+
+    public static Instant lastModified(Booking booking) {
+        Customer customer = booking.getCustomer();
+        long latest = stamp(booking.getUpdatedAt(), booking.getCreatedAt());
+        if (customer != null) {
+            latest = Math.max(latest, stamp(customer.getUpdatedAt(), customer.getCreatedAt()));
+        }
+        return Instant.ofEpochSecond(0, latest);
+    }
+
+    // Nanoseconds since the epoch of updatedAt, or createdAt for rows never updated
+    private static long stamp(LocalDateTime updatedAt, LocalDateTime createdAt) {
+        LocalDateTime time = updatedAt != null ? updatedAt : createdAt;
+        if (time == null) {
+            return 0L;
+        }
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+}
@@ -4,59 +4,38 @@ import com.courier.model.DeliveryType;
 import com.courier.model.PackingPreference;
 
 public class CostCalculator {
-    
-    private static final double BASE_RATE = 50.0;
-    private static final double WEIGHT_CHARGE_PER_GRAM = 0.02;
-    private static final double TAX_RATE = 0.05;
-    private static final double ADMIN_FEE = 50.0;
-    
-    public static double calculateServiceCost(int weightInGrams, DeliveryType deliveryType, 
+
+    // Swapped as a whole by TariffEngine when the rate file changes; readers never lock
+    private static volatile TariffSnapshot tariff = TariffSnapshot.defaults();
+
+    public static double calculateServiceCost(int weightInGrams, DeliveryType deliveryType,
                                            PackingPreference packingPreference, boolean isOfficerBooking) {
-        
-        // Calculate weight charge
-        double weightCharge = weightInGrams * WEIGHT_CHARGE_PER_GRAM;
-        
-        // Get delivery charge based on delivery type
-        double deliveryCharge = getDeliveryCharge(deliveryType);
-        
-        // Get packing charge based on packing preference
-        double packingCharge = getPackingCharge(packingPreference);
-        
-        // Calculate subtotal
-        double subtotal = BASE_RATE + weightCharge + deliveryCharge + packingCharge;
-        
-        // Add admin fee for officer bookings
-        if (isOfficerBooking) {
-            subtotal += ADMIN_FEE;
-        }
-        
-        // Apply tax
-        double totalCost = subtotal * (1 + TAX_RATE);
-        
-        return Math.round(totalCost * 100.0) / 100.0; // Round to 2 decimal places
+        return calculateServiceCostCents(weightInGrams, deliveryType, packingPreference, isOfficerBooking) / 100.0;
+    }
+
+    /**
+     * Same as calculateServiceCost, as exact cents (tax included, rounded half up)
+     */
+    public static long calculateServiceCostCents(int weightInGrams, DeliveryType deliveryType,
+                                                 PackingPreference packingPreference, boolean isOfficerBooking) {
+        return tariff.priceCents(weightInGrams, deliveryType, packingPreference, isOfficerBooking);
     }
-    
-    private static double getDeliveryCharge(DeliveryType deliveryType) {
-        switch (deliveryType) {
-            case STANDARD:
-                return 30.0;
-            case EXPRESS:
-                return 80.0;
-            case SAME_DAY:
-                return 150.0;
-            default:
-                return 30.0;
-        }
+
+    /**
+     * Price many parcels in one pass over parallel arrays, all against the same tariff snapshot
+     */
+    public static long[] calculateServiceCostCents(int[] weightsInGrams, DeliveryType[] deliveryTypes,
+                                                   PackingPreference[] packingPreferences, boolean isOfficerBooking) {
+        long[] cents = new long[weightsInGrams.length];
+        tariff.priceCents(weightsInGrams, deliveryTypes, packingPreferences, isOfficerBooking, cents);
+        return cents;
+    }
+
+    public static TariffSnapshot getTariff() {
+        return tariff;
     }
-    
-    private static double getPackingCharge(PackingPreference packingPreference) {
-        switch (packingPreference) {
-            case BASIC:
-                return 10.0;
-            case PREMIUM:
-                return 30.0;
-            default:
-                return 10.0;
-        }
+
+    public static void setTariff(TariffSnapshot newTariff) {
+        tariff = newTariff;
     }
-} 
\ No newline at end of file
+}
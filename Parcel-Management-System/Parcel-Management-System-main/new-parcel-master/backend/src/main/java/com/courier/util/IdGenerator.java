@@ -0,0 +1,87 @@
+package com.courier.util;
+
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator for business identifiers (booking, payment, transaction and
+ * customer reference IDs).
+ *
+ * Each ID packs 41 bits of milliseconds since 2024-01-01 UTC, a 10-bit node id and a
+ * 12-bit per-millisecond sequence, so IDs are unique across up to 1024 nodes and
+ * increase monotonically on each node. The timestamp and sequence live in a single
+ * AtomicLong updated by CAS. When a millisecond's 4096 sequence numbers run out, or
+ * the clock steps backwards, the generator borrows from the next millisecond instead
+ * of waiting, so callers never block or retry.
+ *
+ * The node id comes from the id.node-id property (see IdGeneratorConfig), the
+ * COURIER_NODE_ID environment variable, or a hash of the host name, in that order.
+ */
+public final class IdGenerator {
+
+    private static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    // (millis since epoch << SEQUENCE_BITS) | sequence of the last issued ID
+    private static final AtomicLong lastState = new AtomicLong();
+
+    private static volatile long nodeId = defaultNodeId();
+
+    private IdGenerator() {
+    }
+
+    /**
+     * @return Next 63-bit ID, positive and strictly increasing on this node
+     */
+    public static long nextId() {
+        while (true) {
+            long previous = lastState.get();
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long next = now > (previous >>> SEQUENCE_BITS)
+                ? now << SEQUENCE_BITS
+                : previous + 1; // same (or earlier) millisecond: bump the sequence, overflowing into the timestamp
+            if (lastState.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    /**
+     * @param prefix Type prefix such as "BK", "PAY" or "CUST"
+     * @return Prefix followed by the decimal form of {@link #nextId()}
+     */
+    public static String next(String prefix) {
+        return prefix + nextId();
+    }
+
+    public static void setNodeId(long id) {
+        if (id < 0 || id > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + id);
+        }
+        nodeId = id;
+    }
+
+    public static long getNodeId() {
+        return nodeId;
+    }
+
+    private static long defaultNodeId() {
+        String fromEnv = System.getenv("COURIER_NODE_ID");
+        if (fromEnv != null && !fromEnv.isBlank()) {
+            try {
+                return Long.parseLong(fromEnv.trim()) & MAX_NODE_ID;
+            } catch (NumberFormatException ignored) {
+                // fall through to the host name
+            }
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName().hashCode() & MAX_NODE_ID;
+        } catch (Exception e) {
+            return 0L;
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.courier.util;
 
+import com.courier.config.AuthenticatedUser;
 import com.courier.model.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -13,16 +22,51 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${jwt.expiration:86400000}")
+    private long expirationMillis;
+
+    // Built once at startup; both are immutable and safe to share between threads
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer validParseTimer;
+    private Timer invalidParseTimer;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.validParseTimer = parseTimer("valid");
+        this.invalidParseTimer = parseTimer("invalid");
+    }
+
+    private Timer parseTimer(String outcome) {
+        return Timer.builder("courier.jwt.parse")
+                .description("JWT signature check and claim parsing per request")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
     public String extractEmail(String token) {
@@ -43,11 +87,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     private Boolean isTokenExpired(String token) {
@@ -74,42 +114,38 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 24 hours
+                .setId(UUID.randomUUID().toString()) // lets a single token be revoked
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMillis)) // 24 hours by default
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        System.out.println("=== JwtUtil.validateToken (UserDetails) ===");
-        System.out.println("Validating token for user: " + userDetails.getUsername());
-        
         try {
             final String email = extractEmail(token);
             final boolean isValid = (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
-            System.out.println("Token validation result: " + isValid);
+            log.debug("Token validation for user {}: {}", userDetails.getUsername(), isValid);
             return isValid;
         } catch (Exception e) {
-            System.out.println("Error validating token: " + e.getMessage());
+            log.debug("Error validating token: {}", e.getMessage());
             return false;
         }
     }
 
     // New method to validate token with email string
     public Boolean validateToken(String token, String email) {
-        System.out.println("=== JwtUtil.validateToken (String) ===");
-        System.out.println("Validating token for email: " + email);
-        
         try {
             final String extractedEmail = extractEmail(token);
             final boolean isValid = (extractedEmail.equals(email) && !isTokenExpired(token));
-            System.out.println("Token validation result: " + isValid);
+            log.debug("Token validation for email {}: {}", email, isValid);
             return isValid;
         } catch (Exception e) {
-            System.out.println("Error validating token: " + e.getMessage());
+            log.debug("Error validating token: {}", e.getMessage());
             return false;
         }
     }
@@ -124,4 +160,38 @@ public class JwtUtil {
         Claims claims = extractAllClaims(token);
         return claims.get("role", String.class);
     }
+
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    /**
+     * Verify the token once and turn its claims into a principal.
+     * Expiry is checked by the parser itself, so no database lookup is needed.
+     *
+     * @param token raw JWT without the "Bearer " prefix
+     * @return the authenticated user, or null if the token is invalid or expired
+     */
+    public AuthenticatedUser toAuthenticatedUser(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = extractAllClaims(token);
+            String userIdStr = claims.get("userId", String.class);
+            Date issuedAt = claims.getIssuedAt();
+            Date expiration = claims.getExpiration();
+            AuthenticatedUser user = new AuthenticatedUser(
+                claims.getSubject(),
+                userIdStr != null ? Long.parseLong(userIdStr) : null,
+                claims.get("role", String.class),
+                claims.getId(),
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE
+            );
+            validParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return user;
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.courier.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through one in every N calls, for log lines that would otherwise be
+ * written on every request. Usage:
+ *
+ *   private static final LogSampler SAMPLER = new LogSampler(100);
+ *   if (log.isDebugEnabled() && SAMPLER.sample()) { log.debug(...); }
+ */
+public class LogSampler {
+
+    private final long rate;
+    private final AtomicLong counter = new AtomicLong();
+
+    public LogSampler(long rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    public boolean sample() {
+        return counter.getAndIncrement() % rate == 0;
+    }
+}
@@ -1,22 +1,221 @@
 package com.courier.util;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password hashing helper.
+ *
+ * BCrypt is deliberately slow, so hashes run on a small dedicated pool instead of
+ * the Tomcat request threads. The pool is capped at the core count with a bounded
+ * queue; when it is full the caller gets a 503 straight away rather than tying up
+ * a request thread, which keeps cheap endpoints responsive during a login spike.
+ *
+ * The BCrypt cost is calibrated at startup so one hash takes roughly
+ * password.bcrypt.target-ms on the current hardware. Hashes stored with a different
+ * cost are reported by {@link #needsRehash(String)} and re-hashed on the next login.
+ */
 @Component
 public class PasswordUtil {
-    
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-    
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordUtil.class);
+
+    private BCryptPasswordEncoder passwordEncoder;
+
+    private int strength;
+
+    @Value("${password.bcrypt.strength:0}")
+    private int fixedStrength;
+
+    @Value("${password.bcrypt.target-ms:250}")
+    private long targetHashMs;
+
+    @Value("${password.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${password.bcrypt.max-strength:14}")
+    private int maxStrength;
+
+    @Value("${password.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${password.hashing.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${password.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor hashingExecutor;
+
+    // Hash time on the worker thread vs. total time including the queue wait
+    private Timer hashTimer;
+    private Timer waitTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        this.strength = fixedStrength > 0 ? fixedStrength : calibrateStrength();
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        log.info("BCrypt strength set to {}", strength);
+
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.hashingExecutor = new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "bcrypt-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.hashTimer = Timer.builder("courier.password.hash")
+            .description("BCrypt encode/match time on the hashing pool")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("courier.password.total")
+            .description("BCrypt time seen by the caller, including queue wait")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("courier.password.rejected")
+            .description("Hashing requests turned away with a 503")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Find the highest cost (within min/max bounds) whose hash time stays under
+     * the target. Each step doubles the work, so the search is short.
+     */
+    private int calibrateStrength() {
+        String sample = "calibration-password";
+        new BCryptPasswordEncoder(minStrength).encode(sample); // warm up the JIT
+
+        int chosen = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode(sample);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMs > targetHashMs) {
+                break;
+            }
+            chosen = candidate;
+        }
+        return chosen;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
     public String encryptPassword(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return encode(rawPassword);
     }
-    
+
     public String encode(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return runBounded(() -> passwordEncoder.encode(rawPassword));
     }
-    
+
     public boolean matches(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return runBounded(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Check whether a stored hash was made with a different cost than the
+     * calibrated one. Hashes look like "$2a$10$...", with the cost at index 4-5.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(6) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public BCryptPasswordEncoder getPasswordEncoder() {
+        return passwordEncoder;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public int getActiveHashes() {
+        return hashingExecutor.getActiveCount();
+    }
+
+    public int getQueuedHashes() {
+        return hashingExecutor.getQueue().size();
+    }
+
+    /**
+     * Run a hashing task on the bounded pool and wait for its result.
+     * Throws a 503 ResponseStatusException if the pool is saturated or the
+     * task does not finish within the configured timeout.
+     */
+    private <T> T runBounded(Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = hashingExecutor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            throw serviceBusy();
+        }
+
+        try {
+            T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw serviceBusy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw serviceBusy();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Password hashing failed", cause);
+        }
+    }
+
+    private ResponseStatusException serviceBusy() {
+        rejectedCounter.increment();
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+            "Too many authentication requests, please try again shortly");
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+package com.courier.util;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token-bucket rate limiter for the authentication endpoints.
+ *
+ * Client addresses and submitted identifiers (login email, registration email) have
+ * separate buckets with their own capacity and refill, built with {@link #ipKey} and
+ * {@link #identifierKey}.
+ *
+ * Keys are spread over a fixed number of lock stripes,
+ * so concurrent requests for different keys rarely contend. Each stripe is an
+ * access-ordered map with a size cap: the least recently seen keys sit at the head,
+ * which makes evicting idle keys and enforcing the memory bound O(1) per call.
+ */
+@Component
+public class RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private static final String IP_PREFIX = "ip:";
+    private static final String IDENTIFIER_PREFIX = "id:";
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private int capacity;
+
+    @Value("${rate-limit.auth.refill-per-minute:10}")
+    private double refillPerMinute;
+
+    @Value("${rate-limit.auth.identifier.capacity:20}")
+    private int identifierCapacity;
+
+    @Value("${rate-limit.auth.identifier.refill-per-minute:5}")
+    private double identifierRefillPerMinute;
+
+    @Value("${rate-limit.auth.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${rate-limit.auth.idle-evict-seconds:600}")
+    private long idleEvictSeconds;
+
+    private final AtomicLong rejectedRequests = new AtomicLong();
+
+    private Stripe[] stripes;
+    private Policy ipPolicy;
+    private Policy identifierPolicy;
+    private long idleEvictNanos;
+
+    @PostConstruct
+    void init() {
+        this.ipPolicy = new Policy(capacity, refillPerMinute);
+        this.identifierPolicy = new Policy(identifierCapacity, identifierRefillPerMinute);
+        this.idleEvictNanos = TimeUnit.SECONDS.toNanos(idleEvictSeconds);
+        int keysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * @param ip Client address
+     * @return Key of the bucket shared by all attempts from that address
+     */
+    public static String ipKey(String ip) {
+        return IP_PREFIX + ip;
+    }
+
+    /**
+     * @param identifier Email from a login or registration request
+     * @return Key of the bucket shared by all attempts on that identifier, from any address
+     */
+    public static String identifierKey(String identifier) {
+        return IDENTIFIER_PREFIX + identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Take one token from the bucket for the given key.
+     *
+     * @param key Rate limit key from {@link #ipKey} or {@link #identifierKey}
+     * @return true if the request may proceed, false if the bucket is empty
+     */
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    boolean tryAcquire(String key, long now) {
+        Stripe stripe = stripeFor(key);
+        Policy policy = policyFor(key);
+        boolean allowed;
+        synchronized (stripe) {
+            stripe.evictIdle(now, idleEvictNanos);
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(policy.capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+            allowed = bucket.tryConsume(now, policy.capacity, policy.refillPerNano);
+        }
+        if (!allowed) {
+            rejectedRequests.incrementAndGet();
+        }
+        return allowed;
+    }
+
+    /**
+     * Time until the bucket for this key holds a whole token again, for Retry-After.
+     *
+     * @param key Rate limit key that was just rejected
+     * @return Whole seconds to wait, at least 1
+     */
+    public long retryAfterSeconds(String key) {
+        return retryAfterSeconds(key, System.nanoTime());
+    }
+
+    long retryAfterSeconds(String key, long now) {
+        Stripe stripe = stripeFor(key);
+        Policy policy = policyFor(key);
+        double tokens;
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            tokens = bucket != null ? bucket.peek(now, policy.capacity, policy.refillPerNano) : policy.capacity;
+        }
+        if (tokens >= 1.0) {
+            return 1;
+        }
+        double waitNanos = (1.0 - tokens) / policy.refillPerNano;
+        return Math.max(1, (long) Math.ceil(waitNanos / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private Policy policyFor(String key) {
+        return key.startsWith(IDENTIFIER_PREFIX) ? identifierPolicy : ipPolicy;
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    /**
+     * @return Number of requests turned away since startup
+     */
+    public long getRejectedRequests() {
+        return rejectedRequests.get();
+    }
+
+    /**
+     * @return Number of keys currently tracked across all stripes
+     */
+    public int getTrackedKeys() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.buckets.size();
+            }
+        }
+        return total;
+    }
+
+    private static final class Policy {
+        private final int capacity;
+        private final double refillPerNano;
+
+        Policy(int capacity, double refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+        }
+    }
+
+    private static final class Stripe {
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        Stripe(int maxEntries) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        void evictIdle(long now, long idleNanos) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().lastSeen < idleNanos) {
+                    break;
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+        private long lastSeen;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefill = now;
+            this.lastSeen = now;
+        }
+
+        // Tokens available at this moment, without consuming or touching the bucket
+        double peek(long now, int capacity, double refillPerNano) {
+            return Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        }
+
+        boolean tryConsume(long now, int capacity, double refillPerNano) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            lastSeen = now;
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.courier.util;
+
+import com.courier.model.DeliveryType;
+import com.courier.model.PackingPreference;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable rate table: weight slabs for every delivery type x packing x officer combination.
+ *
+ * Amounts are fixed point (1 unit = 0.0001 of the currency) and tax is in parts per
+ * million, so pricing is integer arithmetic with exact half-up rounding to cents.
+ * Each combination has its slab lower bounds in a sorted long[] and a lookup is one
+ * binary search, with no allocation.
+ *
+ * Text format, one record per line, "#" starts a comment:
+ * <pre>
+ * tax,0.05
+ * rate,minWeightGrams,deliveryType|*,packingPreference|*,officer(true|false|*),flatCharge,perGramCharge
+ * </pre>
+ * A later rate line overrides an earlier one for the same combination and slab.
+ * Every combination needs a slab starting at 0 or 1 gram.
+ */
+public final class TariffSnapshot {
+
+    public static final long UNITS_PER_CURRENCY = 10_000L;
+    private static final long PPM = 1_000_000L;
+    private static final int COMBINATIONS = DeliveryType.values().length * PackingPreference.values().length * 2;
+
+    private final String source;
+    private final long taxPpm;
+    // Indexed by combination(); slab i applies from minWeights[c][i] grams upwards
+    private final long[][] minWeights;
+    private final long[][] flatUnits;
+    private final long[][] perGramUnits;
+
+    private TariffSnapshot(String source, long taxPpm, long[][] minWeights, long[][] flatUnits, long[][] perGramUnits) {
+        this.source = source;
+        this.taxPpm = taxPpm;
+        this.minWeights = minWeights;
+        this.flatUnits = flatUnits;
+        this.perGramUnits = perGramUnits;
+    }
+
+    /**
+     * Price including tax, in whole cents (hundredths), rounded half up.
+     *
+     * @throws IllegalArgumentException if the price does not fit the fixed-point range,
+     *         e.g. for an absurd weight or a custom tariff with huge rates
+     */
+    public long priceCents(long weightInGrams, DeliveryType deliveryType,
+                           PackingPreference packingPreference, boolean isOfficerBooking) {
+        int combination = combination(deliveryType, packingPreference, isOfficerBooking);
+        long[] slabs = minWeights[combination];
+        int slab = Arrays.binarySearch(slabs, weightInGrams);
+        if (slab < 0) {
+            slab = Math.max(0, -slab - 2); // insertion point - 1 = last slab starting below the weight
+        }
+        long scale = UNITS_PER_CURRENCY / 100 * PPM; // units*ppm per cent
+        try {
+            long subtotalUnits = Math.addExact(flatUnits[combination][slab],
+                Math.multiplyExact(perGramUnits[combination][slab], weightInGrams));
+            return Math.addExact(Math.multiplyExact(subtotalUnits, PPM + taxPpm), scale / 2) / scale;
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Cannot price a parcel of " + weightInGrams + " grams: amount out of range");
+        }
+    }
+
+    /**
+     * Price a batch against this one snapshot, so every item in a quote uses the
+     * same rates even if a reload happens midway. Writes results into cents[i].
+     *
+     * @throws IllegalArgumentException if any item's price is out of range
+     */
+    public void priceCents(int[] weightsInGrams, DeliveryType[] deliveryTypes, PackingPreference[] packingPreferences,
+                           boolean isOfficerBooking, long[] cents) {
+        for (int i = 0; i < weightsInGrams.length; i++) {
+            cents[i] = priceCents(weightsInGrams[i], deliveryTypes[i], packingPreferences[i], isOfficerBooking);
+        }
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getTaxPpm() {
+        return taxPpm;
+    }
+
+    private static int combination(DeliveryType deliveryType, PackingPreference packingPreference, boolean officer) {
+        return ((deliveryType.ordinal() * PackingPreference.values().length) + packingPreference.ordinal()) * 2
+            + (officer ? 1 : 0);
+    }
+
+    /**
+     * The standard tariff: a base rate plus the per-type charges carried by the
+     * DeliveryType and PackingPreference enums, a per-gram charge, an admin fee
+     * for officer bookings and 5% tax.
+     */
+    public static TariffSnapshot defaults() {
+        long baseUnits = 50 * UNITS_PER_CURRENCY;
+        long adminFeeUnits = 50 * UNITS_PER_CURRENCY;
+        long perGramUnits = 200; // 0.02 per gram
+        Builder builder = new Builder("built-in defaults");
+        builder.taxPpm = 50_000; // 5%
+        for (DeliveryType deliveryType : DeliveryType.values()) {
+            for (PackingPreference packing : PackingPreference.values()) {
+                for (boolean officer : new boolean[] {false, true}) {
+                    long flat = baseUnits
+                        + deliveryType.getCharge() * UNITS_PER_CURRENCY
+                        + packing.getCharge() * UNITS_PER_CURRENCY
+                        + (officer ? adminFeeUnits : 0);
+                    builder.put(combination(deliveryType, packing, officer), 0, flat, perGramUnits);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parse a rate table in the format described on the class.
+     *
+     * @throws IllegalArgumentException with the offending line number if the table is invalid
+     */
+    public static TariffSnapshot parse(BufferedReader reader, String source) throws IOException {
+        Builder builder = new Builder(source);
+        boolean taxSeen = false;
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            String[] fields = content.split("\\s*,\\s*");
+            try {
+                switch (fields[0].toLowerCase(Locale.ROOT)) {
+                    case "tax" -> {
+                        expectFields(fields, 2);
+                        builder.taxPpm = new BigDecimal(fields[1]).movePointRight(6).longValueExact();
+                        taxSeen = true;
+                    }
+                    case "rate" -> {
+                        expectFields(fields, 7);
+                        long minWeight = Long.parseLong(fields[1]);
+                        long flat = toUnits(fields[5]);
+                        long perGram = toUnits(fields[6]);
+                        if (minWeight < 0 || flat < 0 || perGram < 0) {
+                            throw new IllegalArgumentException("negative value");
+                        }
+                        for (DeliveryType deliveryType : matching(DeliveryType.class, fields[2])) {
+                            for (PackingPreference packing : matching(PackingPreference.class, fields[3])) {
+                                for (boolean officer : matchingOfficer(fields[4])) {
+                                    builder.put(combination(deliveryType, packing, officer), minWeight, flat, perGram);
+                                }
+                            }
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("unknown record type '" + fields[0] + "'");
+                }
+            } catch (ArithmeticException | IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + " line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        if (!taxSeen) {
+            throw new IllegalArgumentException(source + ": missing tax record");
+        }
+        return builder.build();
+    }
+
+    private static void expectFields(String[] fields, int expected) {
+        if (fields.length != expected) {
+            throw new IllegalArgumentException("expected " + expected + " fields, found " + fields.length);
+        }
+    }
+
+    private static long toUnits(String amount) {
+        return new BigDecimal(amount).movePointRight(4).longValueExact();
+    }
+
+    private static <E extends Enum<E>> List<E> matching(Class<E> type, String value) {
+        if ("*".equals(value)) {
+            return Arrays.asList(type.getEnumConstants());
+        }
+        return List.of(Enum.valueOf(type, value.toUpperCase(Locale.ROOT)));
+    }
+
+    private static boolean[] matchingOfficer(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "*" -> new boolean[] {false, true};
+            case "true" -> new boolean[] {true};
+            case "false" -> new boolean[] {false};
+            default -> throw new IllegalArgumentException("officer must be true, false or *");
+        };
+    }
+
+    private static final class Builder {
+        private final String source;
+        private long taxPpm;
+        private final List<TreeMap<Long, long[]>> slabs = new ArrayList<>();
+
+        Builder(String source) {
+            this.source = source;
+            for (int i = 0; i < COMBINATIONS; i++) {
+                slabs.add(new TreeMap<>());
+            }
+        }
+
+        void put(int combination, long minWeight, long flatUnits, long perGramUnits) {
+            slabs.get(combination).put(minWeight, new long[] {flatUnits, perGramUnits});
+        }
+
+        TariffSnapshot build() {
+            long[][] minWeights = new long[COMBINATIONS][];
+            long[][] flat = new long[COMBINATIONS][];
+            long[][] perGram = new long[COMBINATIONS][];
+            for (int c = 0; c < COMBINATIONS; c++) {
+                TreeMap<Long, long[]> combinationSlabs = slabs.get(c);
+                if (combinationSlabs.isEmpty() || combinationSlabs.firstKey() > 1) {
+                    throw new IllegalArgumentException(source + ": no rate from 1 gram for "
+                        + DeliveryType.values()[c / 2 / PackingPreference.values().length] + "/"
+                        + PackingPreference.values()[c / 2 % PackingPreference.values().length] + "/"
+                        + (c % 2 == 1 ? "officer" : "customer"));
+                }
+                int size = combinationSlabs.size();
+                minWeights[c] = new long[size];
+                flat[c] = new long[size];
+                perGram[c] = new long[size];
+                int i = 0;
+                for (Map.Entry<Long, long[]> entry : combinationSlabs.entrySet()) {
+                    minWeights[c][i] = entry.getKey();
+                    flat[c][i] = entry.getValue()[0];
+                    perGram[c][i] = entry.getValue()[1];
+                    i++;
+                }
+            }
+            return new TariffSnapshot(source, taxPpm, minWeights, flat, perGram);
+        }
+    }
+}
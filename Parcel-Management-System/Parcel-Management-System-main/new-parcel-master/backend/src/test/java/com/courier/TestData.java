@@ -0,0 +1,47 @@
+package com.courier;
+
+import com.courier.model.Booking;
+import com.courier.model.Customer;
+import com.courier.model.DeliveryType;
+import com.courier.model.PackingPreference;
+import com.courier.model.ParcelStatus;
+import com.courier.model.UserRole;
+
+import java.math.BigDecimal;
+
+/**
+ * Valid, unsaved entities for integration tests and benchmarks.
+ */
+public final class TestData {
+
+    private TestData() {}
+
+    public static Customer customer(String email, UserRole role) {
+        Customer customer = new Customer();
+        customer.setCustomerName("Test User");
+        customer.setEmail(email);
+        customer.setCountryCode("+91");
+        customer.setMobileNumber("9876543210");
+        customer.setAddress("12 Long Street Town");
+        // Not a real hash; tests never log in with it
+        customer.setPassword("$2a$10$notarealhashnotarealhashnotarealhashnotarealhashnotar");
+        customer.setRole(role);
+        customer.setGetUpdatesVia("EMAIL");
+        return customer;
+    }
+
+    public static Booking booking(Customer customer, int n) {
+        Booking booking = new Booking();
+        booking.setCustomer(customer);
+        booking.setReceiverName("Receiver " + n);
+        booking.setReceiverAddress(n + " Road Street City");
+        booking.setReceiverMobile("9876543210");
+        booking.setParcelWeightInGram(1000 + n);
+        booking.setParcelContentsDescription("Books");
+        booking.setParcelDeliveryType(DeliveryType.EXPRESS);
+        booking.setParcelPackingPreference(PackingPreference.BASIC);
+        booking.setParcelServiceCost(new BigDecimal("250.00"));
+        booking.setParcelStatus(ParcelStatus.BOOKED);
+        return booking;
+    }
+}
@@ -0,0 +1,95 @@
+package com.courier.benchmark;
+
+import com.courier.CourierServiceApplication;
+import com.courier.TestData;
+import com.courier.model.Booking;
+import com.courier.model.Customer;
+import com.courier.model.UserRole;
+import com.courier.repository.CustomerRepository;
+import com.courier.service.BookingService;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second of BookingService.createBookings, the path used by bulk import.
+ *
+ * batchSize=1 is the before case (one INSERT round trip per row). batchSize=50 is the
+ * configured hibernate.jdbc.batch_size. Each trial boots the application on a random
+ * port against its own in-memory database, reached through a local H2 TCP server so
+ * that statements pay a network round trip.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="BulkBookingInsertBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkBookingInsertBenchmark {
+
+    private static final int ROWS_PER_CALL = 500;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private Server database;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Customer officer;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws SQLException {
+        String run = UUID.randomUUID().toString();
+        // Over TCP every statement is a round trip, as with a real database server
+        database = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        // Arguments, so they override application.properties
+        context = new SpringApplicationBuilder(CourierServiceApplication.class)
+            .run("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:tcp://localhost:" + database.getPort() + "/mem:bench-" + run,
+                "--search.index.dir=" + System.getProperty("java.io.tmpdir") + "/courier-bench-index-" + run,
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--password.bcrypt.strength=4",
+                "--logging.level.root=WARN");
+        bookingService = context.getBean(BookingService.class);
+        officer = context.getBean(CustomerRepository.class)
+            .save(TestData.customer("bench-" + run + "@example.com", UserRole.OFFICER));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        database.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_CALL)
+    public List<Booking> createBookings() {
+        List<Booking> bookings = new ArrayList<>(ROWS_PER_CALL);
+        for (int i = 0; i < ROWS_PER_CALL; i++) {
+            bookings.add(TestData.booking(officer, i));
+        }
+        return bookingService.createBookings(bookings);
+    }
+}
@@ -0,0 +1,77 @@
+package com.courier.benchmark;
+
+import com.courier.dto.BookingRequest;
+import com.courier.model.DeliveryType;
+import com.courier.model.PackingPreference;
+import com.courier.util.CostCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quotes per second from CostCalculator: one parcel per call, the array batch used by
+ * POST /api/quotes/batch, and the previous double-based formula for comparison.
+ * The batch benchmarks report per parcel, so all three scores are quotes per second.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="QuoteBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuoteBenchmark {
+
+    private static final int ITEMS = 1000;
+
+    private final int[] weights = new int[ITEMS];
+    private final DeliveryType[] deliveryTypes = new DeliveryType[ITEMS];
+    private final PackingPreference[] packingPreferences = new PackingPreference[ITEMS];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < ITEMS; i++) {
+            weights[i] = 1 + random.nextInt(BookingRequest.MAX_WEIGHT_IN_GRAM);
+            deliveryTypes[i] = DeliveryType.values()[random.nextInt(DeliveryType.values().length)];
+            packingPreferences[i] = PackingPreference.values()[random.nextInt(PackingPreference.values().length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void single(Blackhole blackhole) {
+        for (int i = 0; i < ITEMS; i++) {
+            blackhole.consume(CostCalculator.calculateServiceCostCents(
+                weights[i], deliveryTypes[i], packingPreferences[i], false));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long[] batch() {
+        return CostCalculator.calculateServiceCostCents(weights, deliveryTypes, packingPreferences, false);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void doubleFormula(Blackhole blackhole) {
+        for (int i = 0; i < ITEMS; i++) {
+            double subtotal = 50.0 + weights[i] * 0.02 + deliveryTypes[i].getCharge() + packingPreferences[i].getCharge();
+            blackhole.consume(Math.round(subtotal * 1.05 * 100.0) / 100.0);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.courier.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "rate-limit.auth.capacity=2",
+    "rate-limit.auth.identifier.capacity=5",
+    "rate-limit.auth.identifier.refill-per-minute=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static MockHttpServletRequestBuilder login(String email, String ip) {
+        return post("/api/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}")
+            .with(request -> {
+                request.setRemoteAddr(ip);
+                return request;
+            });
+    }
+
+    @Test
+    void oneIdentifierIsThrottledAcrossManyAddresses() throws Exception {
+        // Each address stays within its own bucket; together they exhaust the account's
+        for (int i = 1; i <= 5; i++) {
+            mockMvc.perform(login("victim@example.com", "10.0.0." + i)).andExpect(status().isBadRequest());
+        }
+
+        mockMvc.perform(login("Victim@Example.com", "10.0.0.6"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "60"));
+        // Other accounts from a fresh address are unaffected
+        mockMvc.perform(login("someone-else@example.com", "10.0.0.7")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void oneAddressIsThrottledAcrossManyIdentifiers() throws Exception {
+        mockMvc.perform(login("first@example.com", "10.0.1.1")).andExpect(status().isBadRequest());
+        mockMvc.perform(login("second@example.com", "10.0.1.1")).andExpect(status().isBadRequest());
+
+        mockMvc.perform(login("third@example.com", "10.0.1.1")).andExpect(status().isTooManyRequests());
+    }
+}
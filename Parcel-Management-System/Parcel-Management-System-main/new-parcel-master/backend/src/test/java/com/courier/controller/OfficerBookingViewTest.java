@@ -0,0 +1,71 @@
+package com.courier.controller;
+
+import com.courier.TestData;
+import com.courier.model.Booking;
+import com.courier.model.Customer;
+import com.courier.model.UserRole;
+import com.courier.repository.BookingRepository;
+import com.courier.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OfficerBookingViewTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private String bookingId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(TestData.customer("view-" + System.nanoTime() + "@example.com", UserRole.CUSTOMER));
+        bookingId = bookingRepository.save(TestData.booking(customer, 1)).getBookingId();
+    }
+
+    private static void expectContactDetailsOnly(ResultActions result) throws Exception {
+        result.andExpect(status().isOk())
+            .andExpect(jsonPath("$.customer.customerName").value("Test User"))
+            .andExpect(jsonPath("$.customer.password").doesNotExist())
+            .andExpect(content().string(not(containsString("$2a$"))));
+    }
+
+    @Test
+    void readsDoNotExposeTheCustomerPasswordHash() throws Exception {
+        expectContactDetailsOnly(mockMvc.perform(get("/api/delivery-status/" + bookingId)));
+        expectContactDetailsOnly(mockMvc.perform(get("/api/pickup-scheduling/" + bookingId)));
+    }
+
+    @Test
+    void updatesDoNotExposeTheCustomerPasswordHash() throws Exception {
+        expectContactDetailsOnly(mockMvc.perform(put("/api/delivery-status/" + bookingId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"status\":\"IN_TRANSIT\"}")));
+        expectContactDetailsOnly(mockMvc.perform(put("/api/pickup-scheduling/" + bookingId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"pickupDateTime\":\"2026-10-20T10:00:00\",\"dropDateTime\":\"2026-10-21T10:00:00\"}")));
+    }
+}
@@ -0,0 +1,93 @@
+package com.courier.controller;
+
+import com.courier.TestData;
+import com.courier.model.Customer;
+import com.courier.model.Payment;
+import com.courier.model.UserRole;
+import com.courier.repository.BookingRepository;
+import com.courier.repository.CustomerRepository;
+import com.courier.service.IdempotencyService;
+import com.courier.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PaymentControllerIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @MockBean
+    private PaymentService paymentService;
+
+    private String bookingId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(TestData.customer("pay-" + System.nanoTime() + "@example.com", UserRole.CUSTOMER));
+        bookingId = bookingRepository.save(TestData.booking(customer, 1)).getBookingId();
+    }
+
+    private MockHttpServletRequestBuilder pay(String idempotencyKey) {
+        return post("/api/payments")
+            .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"bookingId\":\"" + bookingId + "\",\"cardNumber\":\"4111111111111111\","
+                + "\"cardholderName\":\"Test User\",\"expiryDate\":\"12/30\",\"cvv\":\"123\"}");
+    }
+
+    @Test
+    void transientFailureIsNotReplayed() throws Exception {
+        Payment payment = new Payment();
+        payment.setPaymentId("PAY1");
+        when(paymentService.processPayment(any(), any()))
+            .thenThrow(new DataAccessResourceFailureException("connection reset"))
+            .thenReturn(payment);
+
+        mockMvc.perform(pay("retry-1")).andExpect(status().isInternalServerError());
+
+        mockMvc.perform(pay("retry-1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER))
+            .andExpect(jsonPath("$.payment.paymentId").value("PAY1"));
+    }
+
+    @Test
+    void declinedPaymentIsReplayed() throws Exception {
+        when(paymentService.processPayment(any(), any())).thenThrow(new IllegalArgumentException("Insufficient funds"));
+
+        mockMvc.perform(pay("decline-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(pay("decline-1"))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath("$.message").value("Payment failed: Insufficient funds"));
+
+        verify(paymentService, times(1)).processPayment(any(), any());
+    }
+}
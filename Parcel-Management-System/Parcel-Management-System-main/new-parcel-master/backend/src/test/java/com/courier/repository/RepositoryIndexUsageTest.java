@@ -0,0 +1,301 @@
+package com.courier.repository;
+
+import com.courier.TestData;
+import com.courier.model.Booking;
+import com.courier.model.Customer;
+import com.courier.model.Feedback;
+import com.courier.model.ParcelStatus;
+import com.courier.model.Payment;
+import com.courier.model.TransactionStatus;
+import com.courier.model.TransactionType;
+import com.courier.model.UserRole;
+import com.courier.service.BookingIdSearchIndex;
+import com.courier.service.BookingService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every query issued by the BookingRepository, PaymentRepository, FeedbackRepository and
+ * CustomerRepository methods must be answered through an index as the tables grow.
+ *
+ * Each method runs against seeded data with the DataSource wrapped to record the SQL and
+ * bound parameters of every query, and each query is then run again under H2's EXPLAIN.
+ * A plan passes if no table is scanned: every table access names an index, and an index
+ * read without a condition is only allowed when it also delivers the ORDER BY for a LIMIT
+ * ("index sorted") or answers a COUNT directly.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(RepositoryIndexUsageTest.RecordingDataSourceConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryIndexUsageTest {
+
+    // Filled by the recording DataSource, from every thread
+    private static final List<RecordedQuery> QUERIES = new CopyOnWriteArrayList<>();
+
+    // An index named with no condition after it, e.g. "/* PUBLIC.IDX_BOOKINGS_CREATED_AT_ID */"
+    private static final Pattern UNCONDITIONED_INDEX_READ = Pattern.compile("/\\* PUBLIC\\.\\w+ \\*/");
+
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private PaymentRepository paymentRepository;
+    @Autowired private FeedbackRepository feedbackRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BookingService bookingService;
+    @Autowired private DataSource dataSource;
+
+    private Customer customer;
+    private Booking booking;
+    private Payment payment;
+
+    @BeforeAll
+    void seed() {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            customers.add(TestData.customer("explain-" + i + "@example.com", UserRole.CUSTOMER));
+        }
+        customers = customerRepository.saveAll(customers);
+        customer = customers.get(0);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Booking seeded = TestData.booking(customers.get(i % customers.size()), i);
+            seeded.setParcelStatus(ParcelStatus.values()[i % ParcelStatus.values().length]);
+            bookings.add(seeded);
+        }
+        bookingService.createBookings(bookings);
+        booking = bookingRepository.findByCustomerIdOrderByCreatedAtDesc(customer.getId()).get(0);
+
+        Payment newPayment = new Payment();
+        newPayment.setBooking(booking);
+        newPayment.setTransactionId("TXN-EXPLAIN");
+        newPayment.setTransactionAmount(booking.getParcelServiceCost());
+        newPayment.setTransactionType(TransactionType.CREDIT);
+        newPayment.setTransactionStatus(TransactionStatus.SUCCESS);
+        newPayment.setCardNumber("4111111111111111");
+        newPayment.setCardholderName("Test User");
+        newPayment.setTransactionDate(LocalDateTime.now());
+        payment = paymentRepository.save(newPayment);
+
+        Feedback feedback = new Feedback();
+        feedback.setCustomer(customer);
+        feedback.setBooking(booking);
+        feedback.setFeedbackDescription("Arrived on time");
+        feedback.setRating(5);
+        feedbackRepository.save(feedback);
+    }
+
+    @Test
+    void bookingRepositoryQueriesUseIndexes() {
+        Pageable page = PageRequest.of(1, 10);
+        Long customerId = customer.getId();
+        LocalDateTime createdAt = booking.getCreatedAt();
+        String prefix = BookingIdSearchIndex.toPrefixPattern(booking.getBookingId().substring(5, 10));
+        Set<String> covered = new TreeSet<>();
+
+        assertIndexed(covered, "findByBookingId", () -> bookingRepository.findByBookingId(booking.getBookingId()));
+        assertIndexed(covered, "findByCustomerIdOrderByCreatedAtDesc",
+            () -> bookingRepository.findByCustomerIdOrderByCreatedAtDesc(customerId));
+        assertIndexed(covered, "findByCustomerIdOrderByCreatedAtDesc",
+            () -> bookingRepository.findByCustomerIdOrderByCreatedAtDesc(customerId, page));
+        assertIndexed(covered, "findAllByOrderByCreatedAtDesc", () -> bookingRepository.findAllByOrderByCreatedAtDesc(page));
+        assertIndexed(covered, "findSummaries", () -> bookingRepository.findSummaries(page));
+        assertIndexed(covered, "findSummariesByCustomer", () -> bookingRepository.findSummariesByCustomer(customerId, page));
+        assertIndexed(covered, "findSummarySlice", () -> bookingRepository.findSummarySlice(page));
+        assertIndexed(covered, "findSummarySliceByCustomer",
+            () -> bookingRepository.findSummarySliceByCustomer(customerId, page));
+        assertIndexed(covered, "countByCustomerId", () -> bookingRepository.countByCustomerId(customerId));
+        assertIndexed(covered, "findStatusById", () -> bookingRepository.findStatusById(booking.getId()));
+        assertIndexed(covered, "findWithCustomerAfter", () -> bookingRepository.findWithCustomerAfter(0L, page));
+        assertIndexed(covered, "findNewest", () -> bookingRepository.findNewest(page));
+        assertIndexed(covered, "findNewestBefore",
+            () -> bookingRepository.findNewestBefore(createdAt, booking.getId(), page));
+        assertIndexed(covered, "findNewestByCustomer", () -> bookingRepository.findNewestByCustomer(customerId, page));
+        assertIndexed(covered, "findNewestByCustomerBefore",
+            () -> bookingRepository.findNewestByCustomerBefore(customerId, createdAt, booking.getId(), page));
+        // Customer list and officer search (no customer)
+        assertIndexed(covered, "findByCustomerIdAndFilters",
+            () -> bookingRepository.findByCustomerIdAndFilters(customerId, ParcelStatus.BOOKED, page));
+        assertIndexed(covered, "findByCustomerIdAndFilters",
+            () -> bookingRepository.findByCustomerIdAndFilters(null, ParcelStatus.BOOKED, page));
+        assertIndexed(covered, "searchByBookingId",
+            () -> bookingRepository.searchByBookingId(customerId, prefix, null, page));
+        assertIndexed(covered, "searchByBookingId",
+            () -> bookingRepository.searchByBookingId(null, prefix, ParcelStatus.BOOKED, page));
+
+        assertThat(covered).containsAll(declaredMethods(BookingRepository.class));
+    }
+
+    @Test
+    void paymentRepositoryQueriesUseIndexes() {
+        Set<String> covered = new TreeSet<>();
+
+        assertIndexed(covered, "findByPaymentId", () -> paymentRepository.findByPaymentId(payment.getPaymentId()));
+        assertIndexed(covered, "findByTransactionId", () -> paymentRepository.findByTransactionId(payment.getTransactionId()));
+        assertIndexed(covered, "findByBooking_BookingId",
+            () -> paymentRepository.findByBooking_BookingId(booking.getBookingId()));
+
+        assertThat(covered).containsAll(declaredMethods(PaymentRepository.class));
+    }
+
+    @Test
+    void feedbackRepositoryQueriesUseIndexes() {
+        Set<String> covered = new TreeSet<>();
+
+        assertIndexed(covered, "findByBookingId", () -> feedbackRepository.findByBookingId(booking.getId()));
+        assertIndexed(covered, "findByCustomerId", () -> feedbackRepository.findByCustomerId(customer.getId()));
+
+        assertThat(covered).containsAll(declaredMethods(FeedbackRepository.class));
+    }
+
+    @Test
+    void customerRepositoryQueriesUseIndexes() {
+        Set<String> covered = new TreeSet<>();
+
+        assertIndexed(covered, "findByEmail", () -> customerRepository.findByEmail(customer.getEmail()));
+        assertIndexed(covered, "findByUniqueId", () -> customerRepository.findByUniqueId(customer.getUniqueId()));
+        assertIndexed(covered, "findByEmailAndPassword",
+            () -> customerRepository.findByEmailAndPassword(customer.getEmail(), customer.getPassword()));
+        assertIndexed(covered, "existsByEmail", () -> customerRepository.existsByEmail(customer.getEmail()));
+
+        assertThat(covered).containsAll(declaredMethods(CustomerRepository.class));
+    }
+
+    private void assertIndexed(Set<String> covered, String method, Runnable call) {
+        QUERIES.clear();
+        call.run();
+        // Skip queries of background jobs (e.g. count refreshes) that ran meanwhile
+        List<RecordedQuery> queries = QUERIES.stream()
+            .filter(query -> query.thread == Thread.currentThread())
+            .toList();
+        assertThat(queries).as("queries issued by %s", method).isNotEmpty();
+        for (RecordedQuery query : queries) {
+            String plan = explain(query);
+            assertThat(plan).as("plan of %s", method).doesNotContain("tableScan");
+            if (UNCONDITIONED_INDEX_READ.matcher(plan).find()) {
+                // A whole-index read is fine only if it stops at the LIMIT or answers a COUNT outright
+                assertThat(plan.contains("/* direct lookup */")
+                        || plan.contains("/* index sorted */") && plan.contains("FETCH NEXT"))
+                    .as("%s reads a whole index:%n%s", method, plan)
+                    .isTrue();
+            }
+        }
+        covered.add(method);
+    }
+
+    private static Set<String> declaredMethods(Class<?> repository) {
+        return Arrays.stream(repository.getDeclaredMethods())
+            .filter(method -> !method.isSynthetic())
+            .map(Method::getName)
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private String explain(RecordedQuery query) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql)) {
+            for (Map.Entry<Integer, Object> parameter : query.parameters.entrySet()) {
+                statement.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("EXPLAIN failed for " + query.sql, e);
+        }
+    }
+
+    private record RecordedQuery(String sql, Map<Integer, Object> parameters, Thread thread) {}
+
+    // Wraps the DataSource so that every PreparedStatement records its SQL and bound parameters
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                        ? proxy(DataSource.class, dataSource, RecordingDataSourceConfig::connection)
+                        : bean;
+                }
+            };
+        }
+
+        private static Object connection(Object target, Method method, Object[] args) throws Throwable {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection
+                ? proxy(Connection.class, connection, RecordingDataSourceConfig::statement)
+                : result;
+        }
+
+        private static Object statement(Object target, Method method, Object[] args) throws Throwable {
+            Object result = invoke(target, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                String sql = (String) args[0];
+                Map<Integer, Object> parameters = new TreeMap<>();
+                return proxy(PreparedStatement.class, statement, (statementTarget, call, callArgs) -> {
+                    String name = call.getName();
+                    if (name.startsWith("set") && callArgs != null && callArgs.length >= 2
+                            && callArgs[0] instanceof Integer index) {
+                        parameters.put(index, name.equals("setNull") ? null : callArgs[1]);
+                    } else if (name.equals("executeQuery") && (callArgs == null || callArgs.length == 0)) {
+                        QUERIES.add(new RecordedQuery(sql, new TreeMap<>(parameters), Thread.currentThread()));
+                    }
+                    return invoke(statementTarget, call, callArgs);
+                });
+            }
+            return result;
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Handler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+            return type.cast(Proxy.newProxyInstance(RepositoryIndexUsageTest.class.getClassLoader(),
+                new Class<?>[] {type}, invocationHandler));
+        }
+
+        private interface Handler {
+            Object handle(Object target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.courier.service;
+
+import com.courier.TestData;
+import com.courier.model.Booking;
+import com.courier.model.Customer;
+import com.courier.model.UserRole;
+import com.courier.repository.BookingRepository;
+import com.courier.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk creation must reach the database as JDBC batches: pooled sequences hand out
+ * ids without a round trip per row, and hibernate.jdbc.batch_size groups the inserts.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingBatchInsertTest {
+
+    private static final int ROWS = 500;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Customer officer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        officer = customerRepository.save(TestData.customer("batch-" + System.nanoTime() + "@example.com", UserRole.OFFICER));
+    }
+
+    @Test
+    void bulkCreateSendsInsertsInBatches() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            bookings.add(TestData.booking(officer, i));
+        }
+        long bookingsBefore = bookingRepository.count();
+        statistics.clear();
+
+        bookingService.createBookings(bookings);
+
+        // Bookings plus their booking-ID suffix rows
+        long inserts = statistics.getEntityInsertCount();
+        assertThat(inserts).isGreaterThan(ROWS);
+        // One statement per row would be at least as many statements as inserts; batching of 50
+        // plus a sequence call per 50 ids needs about one per 25
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(inserts / 10);
+        assertThat(bookingRepository.count()).isEqualTo(bookingsBefore + ROWS);
+    }
+
+    @Test
+    void bookingIdsAreAssignedOnceOnPersist() {
+        statistics.clear();
+        Booking saved = bookingService.createBooking(TestData.booking(officer, 0));
+
+        assertThat(saved.getBookingId()).startsWith("BK");
+        assertThat(bookingRepository.findByBookingId(saved.getBookingId())).isPresent();
+    }
+}
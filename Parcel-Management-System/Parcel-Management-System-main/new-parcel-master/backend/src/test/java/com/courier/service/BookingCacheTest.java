@@ -0,0 +1,104 @@
+package com.courier.service;
+
+import com.courier.TestData;
+import com.courier.model.Booking;
+import com.courier.model.Customer;
+import com.courier.model.UserRole;
+import com.courier.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingCacheTest {
+
+    private BookingRepository bookingRepository;
+    private BookingCache bookingCache;
+    private Booking stored;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = TestData.customer("cache@example.com", UserRole.CUSTOMER);
+        customer.setId(7L);
+        stored = TestData.booking(customer, 1);
+        stored.setId(11L);
+        stored.setBookingId("BK11");
+
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findByBookingId("BK11")).thenReturn(Optional.of(stored));
+        bookingCache = new BookingCache();
+        ReflectionTestUtils.setField(bookingCache, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(bookingCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(bookingCache, "ttlSeconds", 60L);
+        bookingCache.init();
+    }
+
+    @Test
+    void readsThroughOnceAndHandsOutPrivateCopies() {
+        Booking first = bookingCache.get("BK11");
+        Booking second = bookingCache.get("BK11");
+
+        verify(bookingRepository, times(1)).findByBookingId("BK11");
+        assertThat(first).isNotSameAs(second).isNotSameAs(stored);
+        assertThat(first.getCustomer()).isNotSameAs(second.getCustomer()).isNotSameAs(stored.getCustomer());
+        assertThat(second.getCustomer().getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void changesToACopyOrItsCustomerDoNotReachTheSnapshot() {
+        Booking copy = bookingCache.get("BK11");
+        copy.setReceiverName("Someone Else");
+        copy.getCustomer().setCustomerName("Changed Name");
+        copy.getCustomer().setAddress("Changed Address Lane");
+
+        Booking next = bookingCache.get("BK11");
+
+        assertThat(next.getReceiverName()).isEqualTo(stored.getReceiverName());
+        assertThat(next.getCustomer().getCustomerName()).isEqualTo("Test User");
+        assertThat(next.getCustomer().getAddress()).isEqualTo("12 Long Street Town");
+    }
+
+    @Test
+    void putDoesNotKeepTheSavedInstanceOrItsCustomer() {
+        Booking saved = bookingCache.get("BK11");
+        saved.setReceiverName("Updated Receiver");
+        bookingCache.put(saved);
+        saved.getCustomer().setCustomerName("Changed After Save");
+
+        Booking next = bookingCache.get("BK11");
+
+        assertThat(next.getReceiverName()).isEqualTo("Updated Receiver");
+        assertThat(next.getCustomer().getCustomerName()).isEqualTo("Test User");
+    }
+
+    @Test
+    void savingACustomerDropsOnlyThatCustomersSnapshots() {
+        Customer other = TestData.customer("other@example.com", UserRole.CUSTOMER);
+        other.setId(8L);
+        Booking otherBooking = TestData.booking(other, 2);
+        otherBooking.setBookingId("BK12");
+        when(bookingRepository.findByBookingId("BK12")).thenReturn(Optional.of(otherBooking));
+        bookingCache.get("BK11");
+        bookingCache.get("BK12");
+
+        bookingCache.invalidateCustomer(7L);
+
+        assertThat(bookingCache.getCache().getIfPresent("BK11")).isNull();
+        assertThat(bookingCache.getCache().getIfPresent("BK12")).isNotNull();
+    }
+
+    @Test
+    void missesAreNotCached() {
+        assertThat(bookingCache.get("BK404")).isNull();
+        assertThat(bookingCache.get("BK404")).isNull();
+
+        verify(bookingRepository, times(2)).findByBookingId("BK404");
+    }
+}
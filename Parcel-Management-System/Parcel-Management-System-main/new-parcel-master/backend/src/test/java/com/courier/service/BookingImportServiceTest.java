@@ -0,0 +1,97 @@
+package com.courier.service;
+
+import com.courier.TestData;
+import com.courier.dto.BookingImportReport;
+import com.courier.model.Customer;
+import com.courier.model.UserRole;
+import com.courier.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "booking.import.batch-size=100")
+@ActiveProfiles("test")
+class BookingImportServiceTest {
+
+    private static final String HEADER = "receiverName,receiverAddress,receiverPin,receiverMobile,"
+        + "parcelWeightInGram,parcelContentsDescription,parcelDeliveryType,parcelPackingPreference\n";
+
+    @Autowired
+    private BookingImportService bookingImportService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager requestEntityManager;
+    private Customer officer;
+
+    @BeforeEach
+    void openSessionInView() {
+        officer = customerRepository.save(TestData.customer("import-" + System.nanoTime() + "@example.com", UserRole.OFFICER));
+        // What OpenEntityManagerInViewInterceptor does for a web request
+        requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+    }
+
+    @AfterEach
+    void closeSessionInView() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        requestEntityManager.close();
+    }
+
+    private static MockMultipartFile csv(String body) {
+        return new MockMultipartFile("file", "bookings.csv", "text/csv", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importedBookingsDoNotStayInTheRequestPersistenceContext() {
+        StringBuilder body = new StringBuilder(HEADER);
+        for (int i = 0; i < 1000; i++) {
+            body.append("Receiver ").append(i).append(",12 Road Street City,560001,9876543210,1200,Books,EXPRESS,BASIC\n");
+        }
+
+        BookingImportReport report = bookingImportService.importBookings(csv(body.toString()), officer);
+
+        assertThat(report.isSuccess()).isTrue();
+        assertThat(report.getImportedRows()).isEqualTo(1000);
+        assertThat(requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void invalidRowsAreReportedAndTheRestImported() {
+        String body = HEADER
+            + "Ann,12 Road Street City,560001,9876543210,1200,Books,EXPRESS,BASIC\n"
+            + "Bob,12 Road Street City,56000,9876543210,1200,Books,EXPRESS,BASIC\n"
+            + "Cat,12 Road Street City,560001,9876543210,heavy,Books,EXPRESS,BASIC\n";
+
+        BookingImportReport report = bookingImportService.importBookings(csv(body), officer);
+
+        assertThat(report.getImportedRows()).isEqualTo(1);
+        assertThat(report.getFailedRows()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(BookingImportReport.RowError::getRow).containsExactly(3, 4);
+    }
+
+    @Test
+    void missingColumnsRejectTheFile() {
+        BookingImportReport report = bookingImportService.importBookings(csv("receiverName\nAnn\n"), officer);
+
+        assertThat(report.isSuccess()).isFalse();
+        assertThat(report.getMessage()).startsWith("Missing columns in header row");
+    }
+}
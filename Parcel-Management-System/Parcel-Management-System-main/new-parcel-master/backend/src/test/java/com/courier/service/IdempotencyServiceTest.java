@@ -0,0 +1,96 @@
+package com.courier.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyService idempotencyService;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService();
+        ReflectionTestUtils.setField(idempotencyService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyService, "maxEntries", 100L);
+        ReflectionTestUtils.setField(idempotencyService, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeoutMs", 1000L);
+        idempotencyService.init();
+    }
+
+    private ResponseEntity<String> created() {
+        return ResponseEntity.ok("booking-" + calls.incrementAndGet());
+    }
+
+    @Test
+    void repeatedKeyReplaysTheFirstResponse() {
+        Map<String, Object> body = Map.of("receiverName", "Bob");
+        ResponseEntity<String> first = idempotencyService.execute("scope", "key-1", body, String.class, this::created);
+        ResponseEntity<String> second = idempotencyService.execute("scope", "key-1", body, String.class, this::created);
+
+        assertThat(calls).hasValue(1);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    void reusedKeyWithDifferentBodyIsRejected() {
+        idempotencyService.execute("scope", "key-1", Map.of("receiverName", "Bob"), String.class, this::created);
+
+        assertThatThrownBy(() -> idempotencyService.execute("scope", "key-1", Map.of("receiverName", "Eve"), String.class, this::created))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void keysAreScoped() {
+        Map<String, Object> body = Map.of("receiverName", "Bob");
+        idempotencyService.execute("user-1", "key-1", body, String.class, this::created);
+        idempotencyService.execute("user-2", "key-1", Map.of("receiverName", "Eve"), String.class, this::created);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void withoutKeyEveryRequestRuns() {
+        idempotencyService.execute("scope", null, "body", String.class, this::created);
+        idempotencyService.execute("scope", " ", "body", String.class, this::created);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void serverErrorsAndExceptionsAreNotKept() {
+        idempotencyService.execute("scope", "key-1", "body", String.class, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(503).body("busy");
+        });
+        assertThatThrownBy(() -> idempotencyService.execute("scope", "key-1", "body", String.class, () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ResponseEntity<String> retried = idempotencyService.execute("scope", "key-1", "body", String.class, this::created);
+        assertThat(retried.getBody()).isEqualTo("booking-3");
+    }
+
+    @Test
+    void overlongKeyIsRejected() {
+        assertThatThrownBy(() -> idempotencyService.execute("scope", "k".repeat(256), "body", String.class, this::created))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
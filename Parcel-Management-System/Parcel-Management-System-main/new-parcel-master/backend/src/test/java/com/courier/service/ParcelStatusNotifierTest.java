@@ -0,0 +1,136 @@
+package com.courier.service;
+
+import com.courier.dto.ParcelStatusEvent;
+import com.courier.model.ParcelStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParcelStatusNotifierTest {
+
+    private ParcelStatusNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new ParcelStatusNotifier();
+        ReflectionTestUtils.setField(notifier, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(notifier, "maxSubscribers", 3);
+        ReflectionTestUtils.setField(notifier, "maxSubscribersPerKey", 2);
+        ReflectionTestUtils.setField(notifier, "fanoutThreads", 1);
+        ReflectionTestUtils.setField(notifier, "fanoutQueueCapacity", 1);
+        notifier.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notifier.shutdown();
+    }
+
+    private static ParcelStatusEvent event(String bookingId, Long customerId) {
+        return new ParcelStatusEvent(bookingId, customerId, ParcelStatus.BOOKED, ParcelStatus.IN_TRANSIT, LocalDateTime.now());
+    }
+
+    private static void awaitSubscriberCount(ParcelStatusNotifier notifier, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (notifier.getSubscriberCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(notifier.getSubscriberCount()).isEqualTo(expected);
+    }
+
+    @Test
+    void perKeyLimitAnswers429AndKeepsTheCount() {
+        notifier.subscribeToBooking("BK1");
+        notifier.subscribeToBooking("BK1");
+
+        assertThatThrownBy(() -> notifier.subscribeToBooking("BK1"))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        assertThat(notifier.getSubscriberCount()).isEqualTo(2);
+
+        // Other keys still have room
+        notifier.subscribeToCustomer(7L);
+        assertThat(notifier.getSubscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    void totalLimitAnswers503AndKeepsTheCount() {
+        notifier.subscribeToBooking("BK1");
+        notifier.subscribeToBooking("BK2");
+        notifier.subscribeToCustomer(7L);
+
+        assertThatThrownBy(() -> notifier.subscribeToBooking("BK3"))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThatThrownBy(() -> notifier.subscribeToCustomer(8L))
+            .isInstanceOf(ResponseStatusException.class);
+        assertThat(notifier.getSubscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    void failedSendUnsubscribesAndFreesTheSlot() throws InterruptedException {
+        SseEmitter gone = notifier.subscribeToBooking("BK1");
+        notifier.subscribeToCustomer(7L);
+        // A completed emitter rejects further sends, as one whose client went away does
+        gone.complete();
+
+        notifier.publish(event("BK1", 7L));
+
+        awaitSubscriberCount(notifier, 1);
+        notifier.subscribeToBooking("BK1");
+        notifier.subscribeToBooking("BK1");
+        assertThat(notifier.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    void cancelledSubscriptionFreesItsSlot() {
+        SseEmitter first = notifier.subscribeToBooking("BK1");
+        notifier.subscribeToBooking("BK1");
+
+        notifier.cancelBookingSubscription("BK1", first);
+        notifier.cancelBookingSubscription("BK1", first);
+
+        assertThat(notifier.getSubscriberCount()).isEqualTo(1);
+        notifier.subscribeToBooking("BK1");
+        assertThat(notifier.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void saturatedFanoutDropsTheEventInsteadOfBlocking() throws InterruptedException {
+        notifier.subscribeToBooking("BK1");
+        ThreadPoolExecutor fanout = (ThreadPoolExecutor) ReflectionTestUtils.getField(notifier, "fanoutExecutor");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Occupy the only fan-out thread and the only queue slot
+        fanout.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        fanout.execute(() -> { });
+
+        notifier.publish(event("BK1", 7L));
+        notifier.publish(event("BK2", null));
+
+        // Only the event with a subscriber counts; the one nobody follows is never queued
+        assertThat(notifier.getDroppedEvents()).isEqualTo(1);
+        assertThat(notifier.getSubscriberCount()).isEqualTo(1);
+        release.countDown();
+    }
+}
@@ -0,0 +1,104 @@
+package com.courier.service;
+
+import com.courier.config.AuthenticatedUser;
+import com.courier.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationServiceTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private JwtUtil jwtUtil;
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "expirationMillis", DAY);
+        revocationService = new TokenRevocationService();
+        ReflectionTestUtils.setField(revocationService, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(revocationService, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(revocationService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.invokeMethod(revocationService, "init");
+    }
+
+    // iat as the JWT carries it: whole seconds
+    private static AuthenticatedUser token(Long userId, String jti, long issuedAtMillis) {
+        long iat = issuedAtMillis - Math.floorMod(issuedAtMillis, 1000L);
+        return new AuthenticatedUser("user@example.com", userId, "CUSTOMER", jti, iat, iat + DAY);
+    }
+
+    @Test
+    void unrevokedTokenPasses() {
+        assertThat(revocationService.isRevoked(token(1L, "a", System.currentTimeMillis()))).isFalse();
+    }
+
+    @Test
+    void logoutRevokesOnlyThatToken() {
+        long now = System.currentTimeMillis();
+        AuthenticatedUser session = token(1L, "a", now);
+        revocationService.revokeToken(session);
+
+        assertThat(revocationService.isRevoked(session)).isTrue();
+        assertThat(revocationService.isRevoked(token(1L, "b", now))).isFalse();
+    }
+
+    @Test
+    void passwordChangeRevokesEarlierTokens() {
+        AuthenticatedUser old = token(1L, "a", System.currentTimeMillis() - 1000);
+        revocationService.revokeAllForUser(1L);
+
+        assertThat(revocationService.isRevoked(old)).isTrue();
+        assertThat(revocationService.isRevoked(token(2L, "b", old.getIssuedAtMillis()))).isFalse();
+    }
+
+    @Test
+    void tokenIssuedInTheSameSecondAfterPasswordChangeIsAccepted() {
+        revocationService.revokeAllForUser(1L);
+        AuthenticatedUser fresh = token(1L, "fresh", System.currentTimeMillis());
+
+        assertThat(revocationService.isRevoked(fresh)).isFalse();
+    }
+
+    @Test
+    void legacyTokenWithoutJtiFallsBackToUserCutOff() {
+        AuthenticatedUser legacy = token(1L, null, System.currentTimeMillis() - 1000);
+        revocationService.revokeToken(legacy);
+
+        assertThat(revocationService.isRevoked(legacy)).isTrue();
+    }
+
+    @Test
+    void purgeDropsEntriesOnceTheirTokensHaveExpired() {
+        long now = System.currentTimeMillis();
+        AuthenticatedUser expired = new AuthenticatedUser("user@example.com", 1L, "CUSTOMER", "gone", now - 2 * DAY, now - DAY);
+        AuthenticatedUser live = token(1L, "live", now);
+        revocationService.revokeToken(expired);
+        revocationService.revokeToken(live);
+
+        revocationService.purgeExpired();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Long> revokedTokens =
+            (Map<String, Long>) ReflectionTestUtils.getField(revocationService, "revokedTokens");
+        assertThat(revokedTokens).containsOnlyKeys("live");
+        assertThat(revocationService.isRevoked(live)).isTrue();
+    }
+
+    @Test
+    void purgeDropsUserCutOffAfterOneTokenLifetime() {
+        ReflectionTestUtils.setField(jwtUtil, "expirationMillis", 0L);
+        AuthenticatedUser old = token(1L, "a", System.currentTimeMillis() - 1000);
+        revocationService.revokeAllForUser(1L);
+
+        revocationService.purgeExpired();
+
+        assertThat(revocationService.isRevoked(old)).isFalse();
+    }
+}
@@ -0,0 +1,82 @@
+package com.courier.util;
+
+import com.courier.dto.BookingSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingCursorTest {
+
+    private static BookingSummary lastOnPage(LocalDateTime createdAt, long id) {
+        BookingSummary summary = new BookingSummary();
+        summary.setCreatedAt(createdAt);
+        summary.setId(id);
+        return summary;
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2026-10-18T14:36:03.123456789", "2026-10-18T14:36:03", "2026-10-18T14:36"})
+    void roundTripsPositionAtAnyPrecision(String createdAt) {
+        LocalDateTime timestamp = LocalDateTime.parse(createdAt);
+
+        BookingCursor cursor = BookingCursor.decode(BookingCursor.encode(lastOnPage(timestamp, 9_007_199_254_740_993L)));
+
+        assertThat(cursor.getCreatedAt()).isEqualTo(timestamp);
+        assertThat(cursor.getId()).isEqualTo(9_007_199_254_740_993L);
+    }
+
+    @Test
+    void isUrlSafe() {
+        String cursor = BookingCursor.encode(lastOnPage(LocalDateTime.parse("2026-10-18T14:36:03.5"), 42));
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "a", "dj F8"})
+    void rejectsBadBase64(String cursor) {
+        assertThatThrownBy(() -> BookingCursor.decode(cursor))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor: not base64url");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"v2|2026-10-18T14:36:03|42", "v1|2026-10-18T14:36:03", "v1|2026-10-18T14:36:03|42|7", "", "garbage"})
+    void rejectsUnknownFormat(String raw) {
+        assertThatThrownBy(() -> BookingCursor.decode(encodeRaw(raw)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor: unknown format");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"v1|2026-13-18T14:36:03|42", "v1|yesterday|42", "v1|2026-10-18T14:36:03|4x2",
+        "v1|2026-10-18T14:36:03|99999999999999999999"})
+    void rejectsGarbledPosition(String raw) {
+        assertThatThrownBy(() -> BookingCursor.decode(encodeRaw(raw)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor: bad position");
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        String cursor = BookingCursor.encode(lastOnPage(LocalDateTime.parse("2026-10-18T14:36:03"), 42));
+        char[] chars = cursor.toCharArray();
+        // Flip one character of the timestamp (it starts after the 3-byte "v1|" prefix, i.e. 4 base64 chars)
+        chars[6] = chars[6] == 'A' ? 'B' : 'A';
+
+        assertThatThrownBy(() -> BookingCursor.decode(new String(chars)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Invalid cursor");
+    }
+}
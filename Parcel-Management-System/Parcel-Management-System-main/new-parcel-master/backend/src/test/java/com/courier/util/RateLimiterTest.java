@@ -0,0 +1,123 @@
+package com.courier.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = newLimiter(3, 6.0, 100_000, 600);
+    }
+
+    private static RateLimiter newLimiter(int capacity, double refillPerMinute, int maxKeys, long idleEvictSeconds) {
+        RateLimiter limiter = new RateLimiter();
+        ReflectionTestUtils.setField(limiter, "capacity", capacity);
+        ReflectionTestUtils.setField(limiter, "refillPerMinute", refillPerMinute);
+        ReflectionTestUtils.setField(limiter, "identifierCapacity", 5);
+        ReflectionTestUtils.setField(limiter, "identifierRefillPerMinute", 1.0);
+        ReflectionTestUtils.setField(limiter, "maxKeys", maxKeys);
+        ReflectionTestUtils.setField(limiter, "idleEvictSeconds", idleEvictSeconds);
+        limiter.init();
+        return limiter;
+    }
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        long now = 0;
+        assertThat(rateLimiter.tryAcquire("ip:a", now)).isTrue();
+        assertThat(rateLimiter.tryAcquire("ip:a", now)).isTrue();
+        assertThat(rateLimiter.tryAcquire("ip:a", now)).isTrue();
+        assertThat(rateLimiter.tryAcquire("ip:a", now)).isFalse();
+        assertThat(rateLimiter.getRejectedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ip:a", 0);
+        }
+        assertThat(rateLimiter.tryAcquire("ip:a", 0)).isFalse();
+        assertThat(rateLimiter.tryAcquire("ip:b", 0)).isTrue();
+    }
+
+    @Test
+    void identifierKeysHaveTheirOwnSettingsAndIgnoreCase() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire(RateLimiter.identifierKey("User@Example.com"), 0)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire(RateLimiter.identifierKey(" user@example.com"), 0)).isFalse();
+        // One per minute
+        assertThat(rateLimiter.retryAfterSeconds(RateLimiter.identifierKey("user@example.com"), 0)).isEqualTo(60);
+        assertThat(rateLimiter.tryAcquire(RateLimiter.ipKey("user@example.com"), 0)).isTrue();
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ip:a", 0);
+        }
+        // 6 per minute is one token every 10 seconds
+        assertThat(rateLimiter.tryAcquire("ip:a", 9 * SECOND)).isFalse();
+        assertThat(rateLimiter.tryAcquire("ip:a", 10 * SECOND)).isTrue();
+        assertThat(rateLimiter.tryAcquire("ip:a", 10 * SECOND)).isFalse();
+    }
+
+    @Test
+    void refillNeverExceedsCapacity() {
+        rateLimiter.tryAcquire("ip:a", 0);
+        long later = 3600 * SECOND;
+        assertThat(rateLimiter.tryAcquire("ip:a", later)).isTrue();
+        assertThat(rateLimiter.tryAcquire("ip:a", later)).isTrue();
+        assertThat(rateLimiter.tryAcquire("ip:a", later)).isTrue();
+        assertThat(rateLimiter.tryAcquire("ip:a", later)).isFalse();
+    }
+
+    @Test
+    void retryAfterFollowsRefillRate() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ip:a", 0);
+        }
+        assertThat(rateLimiter.retryAfterSeconds("ip:a", 0)).isEqualTo(10);
+        assertThat(rateLimiter.retryAfterSeconds("ip:a", 4 * SECOND)).isEqualTo(6);
+        assertThat(rateLimiter.retryAfterSeconds("ip:a", 9 * SECOND + 1)).isEqualTo(1);
+
+        RateLimiter slow = newLimiter(1, 0.5, 100_000, 600);
+        slow.tryAcquire("ip:a", 0);
+        assertThat(slow.retryAfterSeconds("ip:a", 0)).isEqualTo(120);
+    }
+
+    @Test
+    void evictsIdleKeys() {
+        // One token per hour, idle keys dropped after a minute
+        RateLimiter limiter = newLimiter(3, 1.0 / 60, 100_000, 60);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip:a", 0);
+        }
+        assertThat(limiter.tryAcquire("ip:a", 30 * SECOND)).isFalse();
+        assertThat(limiter.getTrackedKeys()).isEqualTo(1);
+
+        // Refill alone would not allow this; the idle bucket was dropped and starts full again
+        assertThat(limiter.tryAcquire("ip:a", 91 * SECOND)).isTrue();
+        assertThat(limiter.getTrackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void capsTrackedKeys() {
+        // 64 stripes with one key each
+        RateLimiter limiter = newLimiter(3, 6.0, 64, 600);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("ip:" + i, 0);
+        }
+        assertThat(limiter.getTrackedKeys()).isLessThanOrEqualTo(64);
+    }
+}
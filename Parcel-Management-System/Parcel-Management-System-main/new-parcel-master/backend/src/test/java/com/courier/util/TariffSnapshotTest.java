@@ -0,0 +1,153 @@
+package com.courier.util;
+
+import com.courier.model.DeliveryType;
+import com.courier.model.PackingPreference;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TariffSnapshotTest {
+
+    private static final String FLAT_TARIFF = """
+        # one rate for everything
+        tax,0.10
+        rate,0,*,*,*,100,0.01
+        """;
+
+    private static TariffSnapshot parse(String text) throws IOException {
+        return TariffSnapshot.parse(new BufferedReader(new StringReader(text)), "test.csv");
+    }
+
+    // The double-based CostCalculator formula the fixed-point tariff replaced
+    private static long baselineCents(int weightInGrams, DeliveryType deliveryType,
+                                      PackingPreference packingPreference, boolean isOfficerBooking) {
+        double subtotal = 50.0 + weightInGrams * 0.02 + deliveryType.getCharge() + packingPreference.getCharge();
+        if (isOfficerBooking) {
+            subtotal += 50.0;
+        }
+        return Math.round(Math.round(subtotal * 1.05 * 100.0) / 100.0 * 100.0);
+    }
+
+    private static BigDecimal exactCents(int weightInGrams, DeliveryType deliveryType,
+                                         PackingPreference packingPreference, boolean isOfficerBooking) {
+        BigDecimal subtotal = BigDecimal.valueOf(50 + deliveryType.getCharge() + packingPreference.getCharge()
+                + (isOfficerBooking ? 50 : 0))
+            .add(BigDecimal.valueOf(weightInGrams).multiply(new BigDecimal("0.02")));
+        return subtotal.multiply(new BigDecimal("1.05")).movePointRight(2);
+    }
+
+    @Test
+    void defaultsMatchBaselineExceptAtHalfCentTies() {
+        TariffSnapshot tariff = TariffSnapshot.defaults();
+        int ties = 0;
+        for (DeliveryType deliveryType : DeliveryType.values()) {
+            for (PackingPreference packing : PackingPreference.values()) {
+                for (boolean officer : new boolean[] {false, true}) {
+                    for (int weight = 1; weight <= 50_000; weight++) {
+                        long cents = tariff.priceCents(weight, deliveryType, packing, officer);
+                        BigDecimal exact = exactCents(weight, deliveryType, packing, officer);
+                        assertThat(cents).isEqualTo(exact.setScale(0, RoundingMode.HALF_UP).longValueExact());
+
+                        long baseline = baselineCents(weight, deliveryType, packing, officer);
+                        if (exact.remainder(BigDecimal.ONE).compareTo(new BigDecimal("0.5")) == 0) {
+                            // double arithmetic sometimes lands just below the tie and rounds down
+                            assertThat(cents - baseline).isBetween(0L, 1L);
+                            ties++;
+                        } else {
+                            assertThat(cents).isEqualTo(baseline);
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(ties).isPositive();
+    }
+
+    @Test
+    void halfCentRoundsUp() {
+        // (50 + 0.02 * 1 + 30 + 10) * 1.05 = 94.521 -> 94.52; weight 5 gives 94.605 -> 94.61
+        TariffSnapshot tariff = TariffSnapshot.defaults();
+        assertThat(tariff.priceCents(1, DeliveryType.STANDARD, PackingPreference.BASIC, false)).isEqualTo(9452);
+        assertThat(tariff.priceCents(5, DeliveryType.STANDARD, PackingPreference.BASIC, false)).isEqualTo(9461);
+    }
+
+    @Test
+    void parsesWildcardsTaxAndComments() throws IOException {
+        TariffSnapshot tariff = parse(FLAT_TARIFF);
+
+        assertThat(tariff.getSource()).isEqualTo("test.csv");
+        assertThat(tariff.getTaxPpm()).isEqualTo(100_000);
+        // (100 + 0.01 * 1000) * 1.10 = 121.00
+        for (DeliveryType deliveryType : DeliveryType.values()) {
+            assertThat(tariff.priceCents(1000, deliveryType, PackingPreference.PREMIUM, true)).isEqualTo(12100);
+        }
+    }
+
+    @Test
+    void picksTheLastSlabStartingAtOrBelowTheWeight() throws IOException {
+        TariffSnapshot tariff = parse(FLAT_TARIFF + """
+            rate,1000,EXPRESS,*,false,200,0
+            rate,5000,express,basic,false,300,0
+            """);
+
+        assertThat(tariff.priceCents(999, DeliveryType.EXPRESS, PackingPreference.BASIC, false)).isEqualTo(12099);
+        assertThat(tariff.priceCents(1000, DeliveryType.EXPRESS, PackingPreference.BASIC, false)).isEqualTo(22000);
+        assertThat(tariff.priceCents(4999, DeliveryType.EXPRESS, PackingPreference.BASIC, false)).isEqualTo(22000);
+        assertThat(tariff.priceCents(5000, DeliveryType.EXPRESS, PackingPreference.BASIC, false)).isEqualTo(33000);
+        assertThat(tariff.priceCents(5000, DeliveryType.EXPRESS, PackingPreference.PREMIUM, false)).isEqualTo(22000);
+        // Other combinations keep the base slab
+        assertThat(tariff.priceCents(5000, DeliveryType.EXPRESS, PackingPreference.BASIC, true)).isEqualTo(16500);
+    }
+
+    @Test
+    void laterRateLineOverridesEarlierOne() throws IOException {
+        TariffSnapshot tariff = parse(FLAT_TARIFF + "rate,0,*,*,*,50,0\n");
+
+        assertThat(tariff.priceCents(1000, DeliveryType.STANDARD, PackingPreference.BASIC, false)).isEqualTo(5500);
+    }
+
+    @Test
+    void rejectsInvalidTablesWithLineNumber() {
+        assertThatThrownBy(() -> parse("tax,0.05\nrate,0,*,*,*,10\n"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("test.csv line 2: expected 7 fields");
+        assertThatThrownBy(() -> parse("tax,0.05\nrate,0,*,*,*,-1,0\n"))
+            .hasMessageContaining("line 2: negative value");
+        assertThatThrownBy(() -> parse("tax,0.05\nrate,0,PIGEON,*,*,1,0\n"))
+            .hasMessageContaining("line 2:");
+        assertThatThrownBy(() -> parse("tax,0.05\nrate,0,*,*,maybe,1,0\n"))
+            .hasMessageContaining("officer must be true, false or *");
+        assertThatThrownBy(() -> parse("tax,0.05\nrate,0,*,*,*,0.00001,0\n"))
+            .hasMessageContaining("line 2:");
+        assertThatThrownBy(() -> parse("tax,0.05\nsurcharge,5\n"))
+            .hasMessageContaining("unknown record type 'surcharge'");
+    }
+
+    @Test
+    void rejectsMissingTaxOrBaseSlab() {
+        assertThatThrownBy(() -> parse("rate,0,*,*,*,1,0\n"))
+            .hasMessage("test.csv: missing tax record");
+        assertThatThrownBy(() -> parse("tax,0.05\nrate,0,*,*,false,1,0\nrate,2,*,*,true,1,0\n"))
+            .hasMessageContaining("no rate from 1 gram for")
+            .hasMessageContaining("officer");
+    }
+
+    @Test
+    void rejectsPricesOutsideTheFixedPointRange() throws IOException {
+        TariffSnapshot tariff = parse("tax,0.05\nrate,0,*,*,*,1,1000000\n");
+
+        assertThatThrownBy(() -> tariff.priceCents(Integer.MAX_VALUE, DeliveryType.STANDARD, PackingPreference.BASIC, false))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("out of range");
+        assertThatThrownBy(() -> TariffSnapshot.defaults()
+                .priceCents(Long.MAX_VALUE / 100, DeliveryType.STANDARD, PackingPreference.BASIC, false))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}